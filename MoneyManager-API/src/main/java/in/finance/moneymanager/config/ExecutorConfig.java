@@ -0,0 +1,51 @@
+package in.finance.moneymanager.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+public class ExecutorConfig {
+
+    // Runs independent dashboard reads concurrently. With virtual threads each read gets its own thread
+    // (the connection pool is the real limit); otherwise a bounded pool that falls back to the caller when full.
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService dashboardQueryExecutor(
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads,
+            @Value("${app.dashboard.parallel.threads:16}") int threads,
+            @Value("${app.dashboard.parallel.queue-capacity:256}") int queueCapacity) {
+        if (virtualThreads) {
+            return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("dashboard-query-", 0).factory());
+        }
+        return new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new CustomizableThreadFactory("dashboard-query-"),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    // Background export jobs: a few platform threads so exports can't take over the connection pool.
+    // A full queue rejects new jobs (the request gets a 503) rather than running them on the request thread.
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService exportJobExecutor(
+            @Value("${app.export.jobs.threads:2}") int threads,
+            @Value("${app.export.jobs.queue-capacity:20}") int queueCapacity) {
+        return new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new CustomizableThreadFactory("export-job-"),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    // One-off maintenance work kicked off at startup (e.g. the first rollup backfill), so it doesn't hold up
+    // the application becoming ready. A single thread, so such tasks never run side by side.
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService maintenanceExecutor() {
+        return Executors.newSingleThreadExecutor(new CustomizableThreadFactory("maintenance-"));
+    }
+}
@@ -0,0 +1,26 @@
+package in.finance.moneymanager.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+
+@Configuration
+public class HttpClientConfig {
+
+    // Shared client for outbound calls (Brevo). Timeouts bound how long a slow upstream can hold a request.
+    @Bean
+    public RestTemplate restTemplate(@Value("${app.http.connect-timeout:5s}") Duration connectTimeout,
+                                     @Value("${app.http.read-timeout:30s}") Duration readTimeout) {
+        HttpClient httpClient = HttpClient.newBuilder()
+                .connectTimeout(connectTimeout)
+                .build();
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+        requestFactory.setReadTimeout(readTimeout);
+        return new RestTemplate(requestFactory);
+    }
+}
@@ -0,0 +1,24 @@
+package in.finance.moneymanager.config;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.type.BasicType;
+import org.hibernate.type.StandardBasicTypes;
+
+// Makes the vendor search functions used by KeywordSearch callable from HQL/Criteria.
+// Registered through META-INF/services; only the functions matching the database are ever rendered.
+public class SearchFunctionContributor implements FunctionContributor {
+
+    @Override
+    public void contributeFunctions(FunctionContributions functionContributions) {
+        BasicType<Double> doubleType = functionContributions.getTypeConfiguration()
+                .getBasicTypeRegistry()
+                .resolve(StandardBasicTypes.DOUBLE);
+        // MySQL full-text score; > 0 means the row matches the boolean query
+        functionContributions.getFunctionRegistry()
+                .registerPattern("match_against", "match (?1) against (?2 in boolean mode)", doubleType);
+        // PostgreSQL pg_trgm similarity between 0 and 1
+        functionContributions.getFunctionRegistry()
+                .registerNamed("similarity", doubleType);
+    }
+}
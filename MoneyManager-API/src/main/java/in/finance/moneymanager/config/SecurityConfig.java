@@ -1,10 +1,16 @@
 package in.finance.moneymanager.config;
 
+import in.finance.moneymanager.security.BoundedPasswordEncoder;
 import in.finance.moneymanager.security.JwtRequestFilter;
 import in.finance.moneymanager.service.AppUserDetailService;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.health.actuate.endpoint.HealthEndpoint;
+import org.springframework.boot.security.autoconfigure.actuate.web.servlet.EndpointRequest;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.security.authorization.AuthorizationDecision;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
@@ -15,12 +21,16 @@ import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
 import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 @Configuration
 @RequiredArgsConstructor
@@ -30,6 +40,9 @@ public class SecurityConfig {
     private final AppUserDetailService appUserDetailService;
     private final JwtRequestFilter jwtRequestFilter;
 
+    @Value("${management.server.port:-1}")
+    private int managementPort;
+
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         http
@@ -43,6 +56,8 @@ public class SecurityConfig {
                                 "/register",
                                 "/activate",
                                 "/login",
+                                // Error dispatch, so ResponseStatusException codes reach the client instead of 403
+                                "/error",
 
                                 // ✅ Swagger & API Docs access
                                 "/v3/api-docs/**",
@@ -51,6 +66,10 @@ public class SecurityConfig {
                                 "/swagger-resources/**",
                                 "/webjars/**"
                         ).permitAll()
+                        // Actuator lives on the internal management port; metrics are never served through the API port
+                        .requestMatchers(EndpointRequest.to(HealthEndpoint.class)).permitAll()
+                        .requestMatchers(EndpointRequest.toAnyEndpoint()).access((authentication, context) ->
+                                new AuthorizationDecision(context.getRequest().getLocalPort() == managementPort))
                         // 🔒 Secure everything else
                         .anyRequest().authenticated()
                 )
@@ -60,9 +79,20 @@ public class SecurityConfig {
         return http.build();
     }
 
+    // Dedicated pool for BCrypt work, sized to the cores, with a bounded queue for admission control
+    @Bean(destroyMethod = "shutdown")
+    public ThreadPoolExecutor passwordHashingExecutor(
+            @Value("${app.security.hashing.threads:#{T(java.lang.Runtime).getRuntime().availableProcessors()}}") int threads,
+            @Value("${app.security.hashing.queue-capacity:64}") int queueCapacity) {
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new CustomizableThreadFactory("password-hashing-"),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(ThreadPoolExecutor passwordHashingExecutor, MeterRegistry meterRegistry) {
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(), passwordHashingExecutor, meterRegistry);
     }
 
     @Bean
@@ -73,8 +103,8 @@ public class SecurityConfig {
                 "https://money-manager-ten-theta.vercel.app"
         ));
         configuration.setAllowedMethods(List.of("GET", "POST", "PUT", "DELETE", "OPTIONS"));
-        configuration.setAllowedHeaders(List.of("Authorization", "Accept", "Content-Type"));
-        configuration.setExposedHeaders(List.of("Authorization"));
+        configuration.setAllowedHeaders(List.of("Authorization", "Accept", "Content-Type", "If-None-Match"));
+        configuration.setExposedHeaders(List.of("Authorization", "Retry-After", "ETag"));
         configuration.setAllowCredentials(true);
 
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
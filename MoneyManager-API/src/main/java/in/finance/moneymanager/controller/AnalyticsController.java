@@ -0,0 +1,61 @@
+package in.finance.moneymanager.controller;
+
+import in.finance.moneymanager.dto.CategoryBreakdownDTO;
+import in.finance.moneymanager.dto.SeriesPointDTO;
+import in.finance.moneymanager.service.AnalyticsService;
+import in.finance.moneymanager.service.DataVersionService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+@RestController
+@RequestMapping("/analytics")
+@RequiredArgsConstructor
+public class AnalyticsController {
+
+    private final AnalyticsService analyticsService;
+    private final DataVersionService dataVersionService;
+
+    // Income/expense series, e.g. /analytics/series?from=2024-01&to=2026-10&granularity=month
+    @GetMapping("/series")
+    public ResponseEntity<List<SeriesPointDTO>> getSeries(@RequestParam(required = false) String from,
+                                                          @RequestParam(required = false) String to,
+                                                          @RequestParam(defaultValue = "month") String granularity,
+                                                          @RequestParam(required = false) Long categoryId,
+                                                          WebRequest webRequest) {
+        // The default range ends at the current month, so the month is part of the ETag
+        String eTag = dataVersionService.currentETag("series", from, to, granularity, categoryId, YearMonth.now());
+        if (webRequest.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(CacheControl.noCache().cachePrivate()).build();
+        }
+        List<SeriesPointDTO> series = analyticsService.getSeries(from, to, granularity, categoryId);
+        return ResponseEntity.status(HttpStatus.OK).cacheControl(CacheControl.noCache().cachePrivate()).eTag(eTag).body(series);
+    }
+
+    // Spend or income per category, e.g. /analytics/categories?type=expense&startDate=2026-10-01&endDate=2026-10-31
+    @GetMapping("/categories")
+    public ResponseEntity<List<CategoryBreakdownDTO>> getCategoryBreakdown(
+            @RequestParam String type,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            WebRequest webRequest) {
+        // Missing dates default relative to today, so the date is part of the ETag
+        String eTag = dataVersionService.currentETag("categories", type, startDate, endDate, LocalDate.now());
+        if (webRequest.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(CacheControl.noCache().cachePrivate()).build();
+        }
+        List<CategoryBreakdownDTO> breakdown = analyticsService.getCategoryBreakdown(type, startDate, endDate);
+        return ResponseEntity.status(HttpStatus.OK).cacheControl(CacheControl.noCache().cachePrivate()).eTag(eTag).body(breakdown);
+    }
+}
@@ -2,10 +2,13 @@ package in.finance.moneymanager.controller;
 
 import in.finance.moneymanager.dto.CategoryDTO;
 import in.finance.moneymanager.service.CategoryService;
+import in.finance.moneymanager.service.DataVersionService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -15,6 +18,7 @@ import java.util.List;
 public class CategoryController {
 
     private final CategoryService categoryService;
+    private final DataVersionService dataVersionService;
 
     @PostMapping
     public ResponseEntity<CategoryDTO> saveCategory(@RequestBody CategoryDTO categoryDTO) {
@@ -23,15 +27,23 @@ public class CategoryController {
     }
 
     @GetMapping
-    public ResponseEntity<List<CategoryDTO>> getCategories(){
+    public ResponseEntity<List<CategoryDTO>> getCategories(WebRequest webRequest){
+        String eTag = dataVersionService.currentETag();
+        if (webRequest.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(CacheControl.noCache().cachePrivate()).build();
+        }
         List<CategoryDTO> categories = categoryService.getCategoriesForCurrentUser();
-        return ResponseEntity.status(HttpStatus.OK).body(categories);
+        return ResponseEntity.status(HttpStatus.OK).cacheControl(CacheControl.noCache().cachePrivate()).eTag(eTag).body(categories);
     }
 
     @GetMapping("/{type}")
-    public ResponseEntity<List<CategoryDTO>> getCategoriesByTypeForCurrentUser(@PathVariable String type){
+    public ResponseEntity<List<CategoryDTO>> getCategoriesByTypeForCurrentUser(@PathVariable String type, WebRequest webRequest){
+        String eTag = dataVersionService.currentETag();
+        if (webRequest.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(CacheControl.noCache().cachePrivate()).build();
+        }
         List<CategoryDTO> categories = categoryService.getCategoriesByTypeForCurrentUser(type);
-        return ResponseEntity.status(HttpStatus.OK).body(categories);
+        return ResponseEntity.status(HttpStatus.OK).cacheControl(CacheControl.noCache().cachePrivate()).eTag(eTag).body(categories);
     }
 
     @PutMapping("/{categoryId}")
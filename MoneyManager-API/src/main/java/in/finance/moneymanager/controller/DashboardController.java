@@ -1,12 +1,18 @@
 package in.finance.moneymanager.controller;
 
+import in.finance.moneymanager.dto.CursorPageDTO;
+import in.finance.moneymanager.dto.RecentTransactionDTO;
 import in.finance.moneymanager.service.DashboardService;
+import in.finance.moneymanager.service.DataVersionService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.Map;
 
@@ -16,10 +22,29 @@ import java.util.Map;
 public class DashboardController {
 
     private final DashboardService dashboardService;
+    private final DataVersionService dataVersionService;
 
     @GetMapping
-    public ResponseEntity<Map<String, Object>> getDashboardData() {
+    public ResponseEntity<Map<String, Object>> getDashboardData(WebRequest webRequest) {
+        // Unchanged data: answer 304 without running the dashboard queries
+        String eTag = dataVersionService.currentETag();
+        if (webRequest.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(CacheControl.noCache().cachePrivate()).build();
+        }
         Map<String, Object> dashboardData = dashboardService.getDashboardData();
-        return ResponseEntity.status(HttpStatus.OK).body(dashboardData);
+        return ResponseEntity.status(HttpStatus.OK).cacheControl(CacheControl.noCache().cachePrivate()).eTag(eTag).body(dashboardData);
+    }
+
+    // Paginated recent activity: pass nextCursor from the previous page as cursor
+    @GetMapping("/recent")
+    public ResponseEntity<CursorPageDTO<RecentTransactionDTO>> getRecentActivity(@RequestParam(required = false) Integer limit,
+                                                                                 @RequestParam(required = false) String cursor,
+                                                                                 WebRequest webRequest) {
+        String eTag = dataVersionService.currentETag("recent", limit, cursor);
+        if (webRequest.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(CacheControl.noCache().cachePrivate()).build();
+        }
+        CursorPageDTO<RecentTransactionDTO> page = dashboardService.getRecentActivity(limit, cursor);
+        return ResponseEntity.status(HttpStatus.OK).cacheControl(CacheControl.noCache().cachePrivate()).eTag(eTag).body(page);
     }
 }
@@ -1,37 +1,53 @@
 package in.finance.moneymanager.controller;
 
-import in.finance.moneymanager.service.ExcelService;
 import in.finance.moneymanager.service.ExpenseService;
 import in.finance.moneymanager.service.IncomeService;
-import jakarta.persistence.criteria.CriteriaBuilder;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.io.IOException;
+import java.time.LocalDate;
 
+// Exports are streamed from a database cursor into the response, so any date range can be downloaded;
+// without startDate/endDate they cover the current month as before
 @RestController
 @RequestMapping("/excel")
 @RequiredArgsConstructor
 public class ExcelController {
 
-    private final ExcelService excelService;
     private final IncomeService incomeService;
     private final ExpenseService expenseService;
 
     @GetMapping("/download/income")
-    public void downloadIncomeExcel(HttpServletResponse response) throws IOException {
+    public void downloadIncomeExcel(@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+                                    @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+                                    HttpServletResponse response) throws IOException {
         response.setContentType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet");
         response.setHeader("Content-Disposition", "attachment; filename=income.xlsx");
-        excelService.writeIncomesToExcel(response.getOutputStream(), incomeService.getCurrentMonthIncomesForCurrentUser());
+        incomeService.exportIncomesToExcel(startOrMonthStart(startDate), endOrMonthEnd(endDate), response.getOutputStream());
     }
 
     @GetMapping("/download/expense")
-    public void downloadExpenseExcel(HttpServletResponse response) throws IOException {
+    public void downloadExpenseExcel(@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+                                     @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+                                     HttpServletResponse response) throws IOException {
         response.setContentType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet");
         response.setHeader("Content-Disposition", "attachment; filename=expense.xlsx");
-        excelService.writeExpensesToExcel(response.getOutputStream(), expenseService.getCurrentMonthExpensesForCurrentUser());
+        expenseService.exportExpensesToExcel(startOrMonthStart(startDate), endOrMonthEnd(endDate), response.getOutputStream());
+    }
+
+    //helper methods
+    private LocalDate startOrMonthStart(LocalDate startDate) {
+        return startDate != null ? startDate : LocalDate.now().withDayOfMonth(1);
+    }
+
+    private LocalDate endOrMonthEnd(LocalDate endDate) {
+        LocalDate now = LocalDate.now();
+        return endDate != null ? endDate : now.withDayOfMonth(now.lengthOfMonth());
     }
 }
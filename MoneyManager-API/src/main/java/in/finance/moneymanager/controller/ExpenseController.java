@@ -1,12 +1,24 @@
 package in.finance.moneymanager.controller;
 
 import in.finance.moneymanager.dto.ExpenseDTO;
+import in.finance.moneymanager.dto.ImportResultDTO;
+import in.finance.moneymanager.service.DataVersionService;
 import in.finance.moneymanager.service.ExpenseService;
+import in.finance.moneymanager.service.TransactionImportService;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.List;
 
 @RestController
@@ -15,6 +27,8 @@ import java.util.List;
 public class ExpenseController {
 
     private final ExpenseService expenseService;
+    private final DataVersionService dataVersionService;
+    private final TransactionImportService transactionImportService;
 
     @PostMapping
     public ResponseEntity<ExpenseDTO> addExpense(@RequestBody ExpenseDTO expenseDTO) {
@@ -22,10 +36,35 @@ public class ExpenseController {
         return ResponseEntity.status(HttpStatus.CREATED).body(saved);
     }
 
+    // Bulk import from a .csv or .xlsx file with a header row (name, category, amount, date and optionally icon);
+    // valid rows are imported and the others listed in the report
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ImportResultDTO> importExpenses(@RequestParam("file") MultipartFile file) {
+        return ResponseEntity.ok(transactionImportService.importExpenses(file));
+    }
+
     @GetMapping
-    public ResponseEntity<List<ExpenseDTO>> getExpenses() {
+    public ResponseEntity<List<ExpenseDTO>> getExpenses(WebRequest webRequest) {
+        // The listing covers the current month, so the month is part of the ETag
+        String eTag = dataVersionService.currentETag(YearMonth.now());
+        if (webRequest.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(CacheControl.noCache().cachePrivate()).build();
+        }
         List<ExpenseDTO> expenses = expenseService.getCurrentMonthExpensesForCurrentUser();
-        return ResponseEntity.status(HttpStatus.OK).body(expenses);
+        return ResponseEntity.status(HttpStatus.OK).cacheControl(CacheControl.noCache().cachePrivate()).eTag(eTag).body(expenses);
+    }
+
+    // Streams expenses as a JSON array while they are read; defaults to the current month like GET /expenses
+    @GetMapping("/stream")
+    public void streamExpenses(@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+                               @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+                               HttpServletResponse response) throws IOException {
+        LocalDate now = LocalDate.now();
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        expenseService.writeExpenses(
+                startDate != null ? startDate : now.withDayOfMonth(1),
+                endDate != null ? endDate : now.withDayOfMonth(now.lengthOfMonth()),
+                response.getOutputStream());
     }
 
     // Update existing expense
@@ -0,0 +1,122 @@
+package in.finance.moneymanager.controller;
+
+import in.finance.moneymanager.dto.ExportJobDTO;
+import in.finance.moneymanager.dto.FilterDTO;
+import in.finance.moneymanager.service.ExportFormat;
+import in.finance.moneymanager.service.ExportJobService;
+import in.finance.moneymanager.service.ProfileService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+// Large exports run in the background: submit, poll the status, then download the finished file
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/exports")
+public class ExportJobController {
+
+    // Tomcat's request attributes for zero-copy file responses
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private final ExportJobService exportJobService;
+    private final ProfileService profileService;
+
+    // Same filters as POST /filter/export; answers 202 with the job to poll
+    @PostMapping
+    public ResponseEntity<ExportJobDTO> submitExport(@RequestBody FilterDTO filter,
+                                                     @RequestParam(defaultValue = "xlsx") String format) {
+        String type = FilterRequests.typeOf(filter);
+        ExportJobDTO job = exportJobService.submit(profileService.getCurrentProfileId(), type,
+                FilterRequests.criteriaOf(filter), FilterRequests.sortOf(filter, type), ExportFormat.parse(format));
+        URI location = ServletUriComponentsBuilder.fromCurrentRequestUri()
+                .path("/{id}").buildAndExpand(job.getId()).toUri();
+        return ResponseEntity.accepted().location(location).body(job);
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<ExportJobDTO> getExport(@PathVariable String id) {
+        return ResponseEntity.ok(exportJobService.getJob(profileService.getCurrentProfileId(), id));
+    }
+
+    // Supports a single byte range so interrupted downloads can resume
+    @GetMapping("/{id}/download")
+    public void downloadExport(@PathVariable String id,
+                               @RequestHeader(value = HttpHeaders.RANGE, required = false) String rangeHeader,
+                               HttpServletRequest request,
+                               HttpServletResponse response) throws IOException {
+        ExportJobService.ExportFile file = exportJobService.getFile(profileService.getCurrentProfileId(), id);
+        long length = file.path().toFile().length();
+        long start = 0;
+        long end = length;
+
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setHeader(HttpHeaders.ETAG, "\"" + file.id() + "\"");
+        if (rangeHeader != null) {
+            List<HttpRange> ranges;
+            try {
+                ranges = HttpRange.parseRanges(rangeHeader);
+            } catch (IllegalArgumentException e) {
+                ranges = null;
+            }
+            if (ranges == null || ranges.isEmpty() || !satisfiable(ranges.getFirst(), length)) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                return;
+            }
+            // Several ranges would need a multipart body; the whole file is sent instead
+            if (ranges.size() == 1) {
+                start = ranges.getFirst().getRangeStart(length);
+                end = ranges.getFirst().getRangeEnd(length) + 1;
+                response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + (end - 1) + "/" + length);
+            }
+        }
+        response.setContentType(file.format().getContentType());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename(file.filename())
+                .build().toString());
+        response.setContentLengthLong(end - start);
+
+        // Let Tomcat send the file straight from the page cache when it can
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, file.path().toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end);
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(file.path(), StandardOpenOption.READ)) {
+            WritableByteChannel target = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            while (position < end) {
+                position += channel.transferTo(position, end - position, target);
+            }
+        }
+    }
+
+    //helper methods
+    private boolean satisfiable(HttpRange range, long length) {
+        try {
+            return range.getRangeStart(length) < length;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+}
@@ -3,66 +3,181 @@ package in.finance.moneymanager.controller;
 import in.finance.moneymanager.dto.ExpenseDTO;
 import in.finance.moneymanager.dto.FilterDTO;
 import in.finance.moneymanager.dto.IncomeDTO;
+import in.finance.moneymanager.dto.TransactionDTO;
+import in.finance.moneymanager.repository.TransactionFilter;
+import in.finance.moneymanager.repository.TransactionSortField;
 import in.finance.moneymanager.service.ExpenseService;
+import in.finance.moneymanager.service.ExportFormat;
 import in.finance.moneymanager.service.IncomeService;
+import in.finance.moneymanager.service.RollupService;
+import in.finance.moneymanager.service.TransactionService;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
 
-import java.time.LocalDate;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Locale;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequiredArgsConstructor
 @RequestMapping("/filter")
 public class FilterController {
 
+    private static final int MAX_PAGE_SIZE = 200;
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+
     private final ExpenseService expenseService;
     private final IncomeService incomeService;
+    private final TransactionService transactionService;
 
-    // Apply filters to fetch income or expense transactions.
+    // Apply filters to fetch income or expense transactions, or both merged into one listing with type "all".
     @PostMapping
     public ResponseEntity<?> filterTransactions(@RequestBody FilterDTO filter) {
         try {
-            // Safely handle empty or blank dates (avoid parsing errors)
-            LocalDate startDate = (filter.getStartDate() == null)
-                    ? LocalDate.of(1970, 1, 1)
-                    : filter.getStartDate();
-
-            LocalDate endDate = (filter.getEndDate() == null)
-                    ? LocalDate.now()
-                    : filter.getEndDate();
-
-            // Handle optional keyword and sorting
-            String keyword = (filter.getKeyword() != null) ? filter.getKeyword().trim() : "";
-            String sortField = (filter.getSortField() != null && !filter.getSortField().isBlank())
-                    ? filter.getSortField()
-                    : "date";
-            Sort.Direction direction = "desc".equalsIgnoreCase(filter.getSortOrder())
-                    ? Sort.Direction.DESC
-                    : Sort.Direction.ASC;
-            Sort sort = Sort.by(direction, sortField);
+            TransactionFilter criteria = FilterRequests.criteriaOf(filter);
+            String sortField = FilterRequests.sortFieldOf(filter);
+            Sort.Direction direction = FilterRequests.directionOf(filter);
+
+            // Paged: bounded work per call whatever the size of the history
+            if (filter.getPageSize() != null) {
+                TransactionSortField keysetField = TransactionSortField.fromProperty(sortField)
+                        .orElseThrow(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                                "Invalid sortField for paged results. Must be one of date, amount, name, createdAt."));
+                int pageSize = Math.clamp(filter.getPageSize(), 1, MAX_PAGE_SIZE);
+                if ("income".equalsIgnoreCase(filter.getType())) {
+                    return ResponseEntity.ok(incomeService.filterIncomesPage(
+                            criteria, keysetField, direction, pageSize, filter.getCursor()));
+                } else if ("expense".equalsIgnoreCase(filter.getType())) {
+                    return ResponseEntity.ok(expenseService.filterExpensesPage(
+                            criteria, keysetField, direction, pageSize, filter.getCursor()));
+                } else if (TransactionService.ALL.equalsIgnoreCase(filter.getType())) {
+                    return ResponseEntity.ok(transactionService.filterTransactionsPage(
+                            criteria, keysetField, direction, pageSize, filter.getCursor()));
+                }
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                        .body(FilterRequests.INVALID_TYPE);
+            }
 
             // Route to respective services based on type
             if ("income".equalsIgnoreCase(filter.getType())) {
-                List<IncomeDTO> incomes = incomeService.filterIncomes(startDate, endDate, keyword, sort);
+                List<IncomeDTO> incomes = incomeService.filterIncomes(criteria, FilterRequests.sortOf(sortField, direction));
                 return ResponseEntity.ok(incomes);
 
             } else if ("expense".equalsIgnoreCase(filter.getType())) {
-                List<ExpenseDTO> expenses = expenseService.filterExpenses(startDate, endDate, keyword, sort);
+                List<ExpenseDTO> expenses = expenseService.filterExpenses(criteria, FilterRequests.sortOf(sortField, direction));
                 return ResponseEntity.ok(expenses);
 
+            } else if (TransactionService.ALL.equalsIgnoreCase(filter.getType())) {
+                TransactionSortField mergeField = TransactionSortField.fromProperty(sortField)
+                        .orElseThrow(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                                TransactionService.NOT_MERGEABLE));
+                List<TransactionDTO> transactions = transactionService.filterTransactions(criteria, mergeField, direction);
+                return ResponseEntity.ok(transactions);
+
             } else {
                 return ResponseEntity.status(HttpStatus.BAD_REQUEST)
-                        .body("Invalid type. Must be 'income' or 'expense'.");
+                        .body(FilterRequests.INVALID_TYPE);
             }
 
+        } catch (ResponseStatusException e) {
+            throw e;
         } catch (Exception e) {
             e.printStackTrace();
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body("An error occurred while filtering transactions: " + e.getMessage());
         }
     }
+
+    // Same filters and results as POST /filter, streamed as a JSON array while rows are read,
+    // so memory use doesn't depend on how many transactions match
+    @PostMapping("/stream")
+    public void streamTransactions(@RequestBody FilterDTO filter, HttpServletResponse response) throws IOException {
+        writeTransactions(filter, ExportFormat.JSON, false, false, response);
+    }
+
+    // Same filters and rows as /filter/stream as a csv or ndjson (or json) download.
+    // Gzip-compressed when the client's Accept-Encoding allows gzip (listed, or covered by *, with a q-value above 0).
+    @PostMapping("/export")
+    public void exportTransactions(@RequestBody FilterDTO filter,
+                                   @RequestParam(defaultValue = "csv") String format,
+                                   @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+                                   HttpServletResponse response) throws IOException {
+        boolean gzip = acceptsGzip(acceptEncoding);
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        writeTransactions(filter, ExportFormat.parse(format), true, gzip, response);
+    }
+
+    //helper methods
+    // An explicit gzip entry wins over *; a q-value that doesn't parse counts as 0
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Double gzip = null;
+        Double wildcard = null;
+        for (String entry : acceptEncoding.split(",")) {
+            String[] parts = entry.split(";");
+            String coding = parts[0].trim().toLowerCase(Locale.ROOT);
+            double quality = 1;
+            for (int i = 1; i < parts.length; i++) {
+                String parameter = parts[i].trim();
+                if (parameter.regionMatches(true, 0, "q=", 0, 2)) {
+                    quality = qualityOf(parameter.substring(2));
+                }
+            }
+            if (coding.equals("gzip") || coding.equals("x-gzip")) {
+                gzip = quality;
+            } else if (coding.equals("*")) {
+                wildcard = quality;
+            }
+        }
+        Double quality = gzip != null ? gzip : wildcard;
+        return quality != null && quality > 0;
+    }
+
+    private static double qualityOf(String value) {
+        try {
+            return Double.parseDouble(value.trim());
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    // Everything is validated before any body header is set, so bad requests still get a plain 400
+    private void writeTransactions(FilterDTO filter, ExportFormat format, boolean download, boolean gzip,
+                                   HttpServletResponse response) throws IOException {
+        TransactionFilter criteria = FilterRequests.criteriaOf(filter);
+        String type = FilterRequests.typeOf(filter);
+        Sort sort = FilterRequests.sortOf(filter, type);
+        response.setContentType(format.getContentType());
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        if (download) {
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                    .filename(format.filename(type))
+                    .build().toString());
+        }
+        OutputStream out = response.getOutputStream();
+        if (gzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+            out = new GZIPOutputStream(out, GZIP_BUFFER_SIZE);
+        }
+        // Closing finishes the gzip trailer
+        try (OutputStream body = out) {
+            switch (type) {
+                case RollupService.INCOME -> incomeService.writeFilteredIncomes(criteria, sort, format, body);
+                case RollupService.EXPENSE -> expenseService.writeFilteredExpenses(criteria, sort, format, body);
+                default -> transactionService.writeFilteredTransactions(criteria, sort, format, body);
+            }
+        }
+    }
 }
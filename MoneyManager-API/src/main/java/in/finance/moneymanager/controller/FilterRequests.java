@@ -0,0 +1,117 @@
+package in.finance.moneymanager.controller;
+
+import in.finance.moneymanager.dto.FilterDTO;
+import in.finance.moneymanager.repository.KeywordSearch;
+import in.finance.moneymanager.repository.TransactionFilter;
+import in.finance.moneymanager.repository.TransactionSortField;
+import in.finance.moneymanager.service.RollupService;
+import in.finance.moneymanager.service.TransactionService;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+// Turns a FilterDTO into validated criteria and sort, with the defaults /filter has always applied;
+// shared by the controllers that accept filter bodies
+final class FilterRequests {
+
+    static final String INVALID_TYPE = "Invalid type. Must be 'income', 'expense' or 'all'.";
+
+    private static final int MAX_CATEGORY_IDS = 100;
+
+    private FilterRequests() {
+    }
+
+    // Validated criteria; inverted ranges and oversized or null-holding category lists are client errors
+    static TransactionFilter criteriaOf(FilterDTO filter) {
+        requireOrdered(filter.getMinAmount(), filter.getMaxAmount(), "minAmount", "maxAmount");
+        requireOrdered(filter.getCreatedFrom(), filter.getCreatedTo(), "createdFrom", "createdTo");
+        requireOrdered(filter.getUpdatedFrom(), filter.getUpdatedTo(), "updatedFrom", "updatedTo");
+        if (filter.getCategoryIds() != null && filter.getCategoryIds().size() > MAX_CATEGORY_IDS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "At most " + MAX_CATEGORY_IDS + " categoryIds can be given.");
+        }
+        if (filter.getCategoryIds() != null && filter.getCategoryIds().contains(null)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "categoryIds must not contain null.");
+        }
+        return TransactionFilter.builder()
+                .startDate(startDateOf(filter))
+                .endDate(endDateOf(filter))
+                .keyword(keywordOf(filter))
+                .minAmount(filter.getMinAmount())
+                .maxAmount(filter.getMaxAmount())
+                .categoryIds(filter.getCategoryIds() != null ? Set.copyOf(filter.getCategoryIds()) : null)
+                .createdFrom(filter.getCreatedFrom())
+                .createdTo(filter.getCreatedTo())
+                .updatedFrom(filter.getUpdatedFrom())
+                .updatedTo(filter.getUpdatedTo())
+                .build();
+    }
+
+    private static <V extends Comparable<? super V>> void requireOrdered(V from, V to, String fromName, String toName) {
+        if (from != null && to != null && from.compareTo(to) > 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, fromName + " must not be after " + toName + ".");
+        }
+    }
+
+    static Sort sortOf(FilterDTO filter) {
+        return sortOf(sortFieldOf(filter), directionOf(filter));
+    }
+
+    // Only whitelisted properties reach Sort, so an unknown sortField is a 400 rather than a failed query
+    static Sort sortOf(String sortField, Sort.Direction direction) {
+        if (KeywordSearch.RELEVANCE.equalsIgnoreCase(sortField)) {
+            return Sort.by(direction, KeywordSearch.RELEVANCE);
+        }
+        TransactionSortField field = TransactionSortField.fromProperty(sortField)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        "Invalid sortField. Must be one of date, amount, name, createdAt, relevance."));
+        return Sort.by(direction, field.getProperty(), "id");
+    }
+
+    // Safely handle empty or blank dates (avoid parsing errors)
+    private static LocalDate startDateOf(FilterDTO filter) {
+        return filter.getStartDate() == null ? LocalDate.of(1970, 1, 1) : filter.getStartDate();
+    }
+
+    private static LocalDate endDateOf(FilterDTO filter) {
+        return filter.getEndDate() == null ? LocalDate.now() : filter.getEndDate();
+    }
+
+    // Handle optional keyword and sorting
+    private static String keywordOf(FilterDTO filter) {
+        return filter.getKeyword() != null ? filter.getKeyword().trim() : "";
+    }
+
+    static String sortFieldOf(FilterDTO filter) {
+        return filter.getSortField() != null && !filter.getSortField().isBlank() ? filter.getSortField() : "date";
+    }
+
+    static Sort.Direction directionOf(FilterDTO filter) {
+        return "desc".equalsIgnoreCase(filter.getSortOrder()) ? Sort.Direction.DESC : Sort.Direction.ASC;
+    }
+
+    // "income", "expense" or "all" (both tables merged)
+    static String typeOf(FilterDTO filter) {
+        for (String type : List.of(RollupService.INCOME, RollupService.EXPENSE, TransactionService.ALL)) {
+            if (type.equalsIgnoreCase(filter.getType())) {
+                return type;
+            }
+        }
+        throw new ResponseStatusException(HttpStatus.BAD_REQUEST, INVALID_TYPE);
+    }
+
+    // Sort for reading rows of the given type; merging both tables needs a keyset field other than name
+    static Sort sortOf(FilterDTO filter, String type) {
+        if (!TransactionService.ALL.equals(type)) {
+            return sortOf(filter);
+        }
+        TransactionSortField field = TransactionSortField.fromProperty(sortFieldOf(filter))
+                .filter(sortField -> sortField != TransactionSortField.NAME)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST, TransactionService.NOT_MERGEABLE));
+        return Sort.by(directionOf(filter), field.getProperty(), "id");
+    }
+}
@@ -2,10 +2,12 @@ package in.finance.moneymanager.controller;
 
 import in.finance.moneymanager.dto.AuthDTO;
 import in.finance.moneymanager.dto.ProfileDTO;
+import in.finance.moneymanager.security.HashingCapacityExceededException;
 import in.finance.moneymanager.service.ProfileService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.DisabledException;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.Map;
@@ -38,21 +40,21 @@ public class ProfileController {
     @PostMapping("/login")
     public ResponseEntity<Map<String, Object>> login(@RequestBody AuthDTO authDTO) {
         try {
-            // Step 1: Authenticate first (checks email and password)
+            // Authenticate, check the account is active and issue the token in one pass
             Map<String, Object> response = profileService.authenticateAndGenerateToken(authDTO);
-
-            // Step 2: Then check if account is active
-            if (!profileService.isAccountActive(authDTO.getEmail())) {
-                return ResponseEntity.status(HttpStatus.FORBIDDEN).body(Map.of(
-                        "message", "Account is not active. Please activate your account first."
-                ));
-            }
-
-            // Step 3: Successful login
             return ResponseEntity.status(HttpStatus.OK).body(response);
 
+        } catch (HashingCapacityExceededException e) {
+            // Hashing pool is saturated: fail fast so the client retries
+            return ResponseEntity.status(e.getStatusCode()).headers(e.getHeaders()).body(Map.of(
+                    "message", e.getReason()
+            ));
+        } catch (DisabledException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(Map.of(
+                    "message", e.getMessage()
+            ));
         } catch (Exception e) {
-            // Step 4: Handle invalid credentials and unexpected errors
+            // Handle invalid credentials and unexpected errors
             String message = e.getMessage();
 
             if (message != null && (message.equalsIgnoreCase("User not found")
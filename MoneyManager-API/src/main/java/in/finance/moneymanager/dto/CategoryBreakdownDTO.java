@@ -0,0 +1,28 @@
+package in.finance.moneymanager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class CategoryBreakdownDTO {
+
+    private Long categoryId;
+    private String categoryName;
+    private String icon;
+    private BigDecimal total;
+    private Long count;
+    // Percentage of the period's total across all categories
+    private BigDecimal share;
+    // Same-length period immediately before the requested one
+    private BigDecimal previousTotal;
+    private BigDecimal change;
+    // Null when the previous period had nothing in this category
+    private BigDecimal changePercent;
+}
@@ -0,0 +1,20 @@
+package in.finance.moneymanager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// One page of a keyset-paginated listing; pass nextCursor back to get the following page
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class CursorPageDTO<T> {
+
+    private List<T> items;
+    private String nextCursor;
+    private boolean hasMore;
+}
@@ -0,0 +1,27 @@
+package in.finance.moneymanager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ExportJobDTO {
+
+    private String id;
+    private String type;
+    private String format;
+    // QUEUED, RUNNING, DONE or FAILED
+    private String status;
+    private LocalDateTime createdAt;
+    private LocalDateTime completedAt;
+    // After this the job and its file are gone
+    private LocalDateTime expiresAt;
+    private Long sizeBytes;
+    private String error;
+}
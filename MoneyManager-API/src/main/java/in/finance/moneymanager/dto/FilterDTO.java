@@ -2,7 +2,10 @@ package in.finance.moneymanager.dto;
 
 import lombok.Data;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
 
 @Data
 public class FilterDTO {
@@ -13,4 +16,15 @@ public class FilterDTO {
     private String keyword;
     private String sortField;
     private String sortOrder;
+    // Optional criteria; ranges are inclusive and either end may be left out
+    private BigDecimal minAmount;
+    private BigDecimal maxAmount;
+    private List<Long> categoryIds;
+    private LocalDateTime createdFrom;
+    private LocalDateTime createdTo;
+    private LocalDateTime updatedFrom;
+    private LocalDateTime updatedTo;
+    // Set pageSize to get one page plus nextCursor instead of the whole range; pass nextCursor back as cursor
+    private Integer pageSize;
+    private String cursor;
 }
@@ -0,0 +1,17 @@
+package in.finance.moneymanager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ImportErrorDTO {
+
+    // Row number as shown in the spreadsheet (the header is row 1)
+    private long row;
+    private String message;
+}
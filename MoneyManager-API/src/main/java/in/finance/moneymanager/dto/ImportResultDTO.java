@@ -0,0 +1,24 @@
+package in.finance.moneymanager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ImportResultDTO {
+
+    private String type;
+    // Data rows read, not counting the header
+    private long totalRows;
+    private long importedRows;
+    private long failedRows;
+    private List<ImportErrorDTO> errors;
+    // True when there were more errors than the report lists
+    private boolean errorsTruncated;
+}
@@ -13,7 +13,7 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 @NoArgsConstructor
 @Builder
-public class IncomeDTO {
+public class IncomeDTO implements TransactionRow {
 
     private Long id;
     private String name;
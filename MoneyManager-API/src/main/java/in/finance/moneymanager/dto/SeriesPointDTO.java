@@ -0,0 +1,23 @@
+package in.finance.moneymanager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class SeriesPointDTO {
+
+    // "2026-10" for monthly points, "2026" for yearly ones
+    private String period;
+    private BigDecimal income;
+    private BigDecimal expense;
+    private BigDecimal net;
+    private Long incomeCount;
+    private Long expenseCount;
+}
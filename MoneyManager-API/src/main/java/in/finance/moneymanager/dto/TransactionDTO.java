@@ -0,0 +1,29 @@
+package in.finance.moneymanager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// An income or expense row in a combined listing; type is "income" or "expense"
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class TransactionDTO implements TransactionRow {
+
+    private Long id;
+    private String name;
+    private String icon;
+    private String categoryName;
+    private Long categoryId;
+    private BigDecimal amount;
+    private LocalDate date;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private String type;
+}
@@ -0,0 +1,27 @@
+package in.finance.moneymanager.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// The fields income, expense and combined listing rows share, so exports can describe them once
+public interface TransactionRow {
+
+    Long getId();
+
+    String getName();
+
+    String getIcon();
+
+    String getCategoryName();
+
+    Long getCategoryId();
+
+    BigDecimal getAmount();
+
+    LocalDate getDate();
+
+    LocalDateTime getCreatedAt();
+
+    LocalDateTime getUpdatedAt();
+}
@@ -11,7 +11,10 @@ import org.hibernate.annotations.UpdateTimestamp;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name="tbl_categories")
+// Indexes are created by the Flyway migrations (db/migration)
+@Table(name = "tbl_categories",
+        uniqueConstraints = @UniqueConstraint(name = "uk_categories_profile_name", columnNames = {"profile_id", "name"}),
+        indexes = @Index(name = "idx_categories_profile_type", columnList = "profile_id, type"))
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
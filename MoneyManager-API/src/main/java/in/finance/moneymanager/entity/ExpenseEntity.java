@@ -17,7 +17,12 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @Builder
 @Entity
-@Table(name = "tbl_expenses")
+// Indexes are created by the Flyway migrations (db/migration); listed here to document the query shapes they serve
+@Table(name = "tbl_expenses", indexes = {
+        @Index(name = "idx_expenses_profile_date", columnList = "profile_id, date, id"),
+        @Index(name = "idx_expenses_profile_created", columnList = "profile_id, created_at, id"),
+        @Index(name = "idx_expenses_category", columnList = "category_id")
+})
 public class ExpenseEntity {
 
     @Id
@@ -34,7 +39,7 @@ public class ExpenseEntity {
     @UpdateTimestamp
     private LocalDateTime updatedAt;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "category_id", nullable = false)
     private CategoryEntity category;
 
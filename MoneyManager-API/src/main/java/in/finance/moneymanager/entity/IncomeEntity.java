@@ -17,7 +17,12 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @Builder
 @Entity
-@Table(name = "tbl_incomes")
+// Indexes are created by the Flyway migrations (db/migration); listed here to document the query shapes they serve
+@Table(name = "tbl_incomes", indexes = {
+        @Index(name = "idx_incomes_profile_date", columnList = "profile_id, date, id"),
+        @Index(name = "idx_incomes_profile_created", columnList = "profile_id, created_at, id"),
+        @Index(name = "idx_incomes_category", columnList = "category_id")
+})
 public class IncomeEntity {
 
     @Id
@@ -0,0 +1,52 @@
+package in.finance.moneymanager.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// Sum and count of a profile's incomes or expenses per category and calendar month, kept in step with every write
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Entity
+@Table(name = "tbl_monthly_rollups",
+        uniqueConstraints = @UniqueConstraint(name = "uk_monthly_rollup_bucket",
+                columnNames = {"profile_id", "category_id", "type", "period_year", "period_month"}),
+        indexes = @Index(name = "idx_monthly_rollup_profile_period",
+                columnList = "profile_id, period_year, period_month"))
+public class MonthlyRollupEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "profile_id", nullable = false)
+    private Long profileId;
+
+    @Column(name = "category_id", nullable = false)
+    private Long categoryId;
+
+    // "income" or "expense"
+    @Column(nullable = false)
+    private String type;
+
+    @Column(name = "period_year", nullable = false)
+    private Integer year;
+
+    @Column(name = "period_month", nullable = false)
+    private Integer month;
+
+    @Column(nullable = false)
+    private BigDecimal totalAmount;
+
+    @Column(nullable = false)
+    private Long txnCount;
+
+    private LocalDateTime updatedAt;
+}
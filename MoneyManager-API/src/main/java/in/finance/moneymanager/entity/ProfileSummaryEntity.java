@@ -0,0 +1,41 @@
+package in.finance.moneymanager.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// Running per-profile totals, kept in step with every income/expense write
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Entity
+@Table(name = "tbl_profile_summaries")
+public class ProfileSummaryEntity {
+
+    @Id
+    @Column(name = "profile_id")
+    private Long profileId;
+
+    @Column(nullable = false)
+    private BigDecimal totalIncome;
+
+    @Column(nullable = false)
+    private BigDecimal totalExpense;
+
+    @Column(nullable = false)
+    private Long incomeCount;
+
+    @Column(nullable = false)
+    private Long expenseCount;
+
+    // Bumped on every income, expense or category write; drives ETags
+    private Long dataVersion;
+
+    private LocalDateTime updatedAt;
+}
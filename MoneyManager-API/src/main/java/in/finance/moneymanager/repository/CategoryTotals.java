@@ -0,0 +1,19 @@
+package in.finance.moneymanager.repository;
+
+import java.math.BigDecimal;
+
+// Per-category sums for a date range and for the period of equal length just before it
+public interface CategoryTotals {
+
+    Long getCategoryId();
+
+    String getCategoryName();
+
+    String getIcon();
+
+    BigDecimal getTotal();
+
+    Long getTxnCount();
+
+    BigDecimal getPreviousTotal();
+}
@@ -0,0 +1,96 @@
+package in.finance.moneymanager.repository;
+
+import in.finance.moneymanager.dto.RecentTransactionDTO;
+import in.finance.moneymanager.entity.ProfileEntity;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Read-only queries behind /dashboard
+public interface DashboardRepository extends Repository<ProfileEntity, Long> {
+
+    // Latest incomes and latest expenses (up to :limit each) with category names
+    @Query(value = """
+            (SELECT i.id AS id, i.name AS name, i.icon AS icon, i.category_id AS categoryId, c.name AS categoryName,
+                    i.amount AS amount, i.date AS date, i.created_at AS createdAt, i.updated_at AS updatedAt,
+                    'income' AS type
+             FROM tbl_incomes i JOIN tbl_categories c ON c.id = i.category_id
+             WHERE i.profile_id = :profileId
+             ORDER BY i.date DESC, i.id DESC
+             LIMIT :limit)
+            UNION ALL
+            (SELECT e.id AS id, e.name AS name, e.icon AS icon, e.category_id AS categoryId, c.name AS categoryName,
+                    e.amount AS amount, e.date AS date, e.created_at AS createdAt, e.updated_at AS updatedAt,
+                    'expense' AS type
+             FROM tbl_expenses e JOIN tbl_categories c ON c.id = e.category_id
+             WHERE e.profile_id = :profileId
+             ORDER BY e.date DESC, e.id DESC
+             LIMIT :limit)
+            ORDER BY date DESC, createdAt DESC, id DESC
+            """, nativeQuery = true)
+    List<TransactionRow> findLatestTransactionsByProfileId(@Param("profileId") Long profileId,
+                                                           @Param("limit") int limit);
+
+    // Recent activity feed, first page: incomes and expenses merged newest first on (date, createdAt, id, type).
+    // Each branch is cut to :limit on its own index range before the merge, so at most 2 * :limit rows are sorted.
+    @Query(value = """
+            SELECT * FROM (
+              (SELECT i.id AS id, i.profile_id AS profileId, i.icon AS icon, i.name AS name, i.amount AS amount,
+                      i.date AS date, i.created_at AS createdAt, i.updated_at AS updatedAt, 'income' AS type
+               FROM tbl_incomes i
+               WHERE i.profile_id = :profileId
+               ORDER BY i.date DESC, i.created_at DESC, i.id DESC
+               LIMIT :limit)
+              UNION ALL
+              (SELECT e.id AS id, e.profile_id AS profileId, e.icon AS icon, e.name AS name, e.amount AS amount,
+                      e.date AS date, e.created_at AS createdAt, e.updated_at AS updatedAt, 'expense' AS type
+               FROM tbl_expenses e
+               WHERE e.profile_id = :profileId
+               ORDER BY e.date DESC, e.created_at DESC, e.id DESC
+               LIMIT :limit)
+            ) t
+            ORDER BY date DESC, createdAt DESC, id DESC, type DESC
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<RecentTransactionDTO> findRecentTransactions(@Param("profileId") Long profileId,
+                                                      @Param("limit") int limit);
+
+    // Recent activity feed, following pages: rows strictly after the cursor in the same order.
+    // "income" sorts before "expense" on a full (date, createdAt, id) tie, hence the extra expense-branch case.
+    @Query(value = """
+            SELECT * FROM (
+              (SELECT i.id AS id, i.profile_id AS profileId, i.icon AS icon, i.name AS name, i.amount AS amount,
+                      i.date AS date, i.created_at AS createdAt, i.updated_at AS updatedAt, 'income' AS type
+               FROM tbl_incomes i
+               WHERE i.profile_id = :profileId
+                 AND (i.date < :date
+                      OR (i.date = :date AND (i.created_at < :createdAt
+                          OR (i.created_at = :createdAt AND i.id < :id))))
+               ORDER BY i.date DESC, i.created_at DESC, i.id DESC
+               LIMIT :limit)
+              UNION ALL
+              (SELECT e.id AS id, e.profile_id AS profileId, e.icon AS icon, e.name AS name, e.amount AS amount,
+                      e.date AS date, e.created_at AS createdAt, e.updated_at AS updatedAt, 'expense' AS type
+               FROM tbl_expenses e
+               WHERE e.profile_id = :profileId
+                 AND (e.date < :date
+                      OR (e.date = :date AND (e.created_at < :createdAt
+                          OR (e.created_at = :createdAt AND (e.id < :id
+                              OR (e.id = :id AND :type = 'income'))))))
+               ORDER BY e.date DESC, e.created_at DESC, e.id DESC
+               LIMIT :limit)
+            ) t
+            ORDER BY date DESC, createdAt DESC, id DESC, type DESC
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<RecentTransactionDTO> findRecentTransactionsAfter(@Param("profileId") Long profileId,
+                                                           @Param("date") LocalDate date,
+                                                           @Param("createdAt") LocalDateTime createdAt,
+                                                           @Param("id") Long id,
+                                                           @Param("type") String type,
+                                                           @Param("limit") int limit);
+}
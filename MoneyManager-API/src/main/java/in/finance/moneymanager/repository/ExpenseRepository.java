@@ -1,8 +1,10 @@
 package in.finance.moneymanager.repository;
 
+import in.finance.moneymanager.dto.ExpenseDTO;
 import in.finance.moneymanager.entity.ExpenseEntity;
-import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
@@ -10,26 +12,43 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
 
-public interface ExpenseRepository extends JpaRepository<ExpenseEntity, Long> {
+public interface ExpenseRepository extends JpaRepository<ExpenseEntity, Long>, JpaSpecificationExecutor<ExpenseEntity> {
 
     List<ExpenseEntity> findByProfileIdOrderByDateDesc(Long profileId);
 
-    List<ExpenseEntity> findTop5ByProfileIdOrderByDateDesc(Long profileId);
+    // Read-path listings select straight into DTOs: one statement with the category join, no managed entities
+    @Query("SELECT new in.finance.moneymanager.dto.ExpenseDTO(e.id, e.name, e.icon, c.name, c.id, e.amount, e.date, e.createdAt, e.updatedAt) " +
+            "FROM ExpenseEntity e JOIN e.category c " +
+            "WHERE e.profile.id = :profileId ORDER BY e.date DESC, e.id DESC")
+    List<ExpenseDTO> findLatestDTOs(@Param("profileId") Long profileId, Limit limit);
 
     @Query("SELECT SUM(e.amount) FROM ExpenseEntity e WHERE e.profile.id = :profileId")
     BigDecimal findTotalExpenseByProfileId(@Param("profileId") Long profileId);
 
-    List<ExpenseEntity> findByProfileIdAndDateBetweenAndNameContainingIgnoreCase(
-            Long profileId,
-            LocalDate startDate,
-            LocalDate endDate,
-            String keyword,
-            Sort sort
-    );
+    @Query("SELECT new in.finance.moneymanager.dto.ExpenseDTO(e.id, e.name, e.icon, c.name, c.id, e.amount, e.date, e.createdAt, e.updatedAt) " +
+            "FROM ExpenseEntity e JOIN e.category c " +
+            "WHERE e.profile.id = :profileId AND e.date BETWEEN :startDate AND :endDate")
+    List<ExpenseDTO> findDTOsByProfileIdAndDateBetween(@Param("profileId") Long profileId,
+                                                     @Param("startDate") LocalDate startDate,
+                                                     @Param("endDate") LocalDate endDate);
 
-    List<ExpenseEntity> findByProfileIdAndDateBetween(Long profileId, LocalDate startDate, LocalDate endDate);
-
-    List<ExpenseEntity> findByProfileIdAndDate(Long profileId, LocalDate date);
+    @Query("SELECT new in.finance.moneymanager.dto.ExpenseDTO(e.id, e.name, e.icon, c.name, c.id, e.amount, e.date, e.createdAt, e.updatedAt) " +
+            "FROM ExpenseEntity e JOIN e.category c " +
+            "WHERE e.profile.id = :profileId AND e.date = :date")
+    List<ExpenseDTO> findDTOsByProfileIdAndDate(@Param("profileId") Long profileId, @Param("date") LocalDate date);
 
     boolean existsByCategoryId(Long categoryId);
+
+    // One pass over [previousStartDate, endDate]: rows from startDate on count towards the current period
+    @Query("SELECT c.id AS categoryId, c.name AS categoryName, c.icon AS icon, " +
+            "COALESCE(SUM(CASE WHEN e.date >= :startDate THEN e.amount ELSE 0 END), 0) AS total, " +
+            "SUM(CASE WHEN e.date >= :startDate THEN 1 ELSE 0 END) AS txnCount, " +
+            "COALESCE(SUM(CASE WHEN e.date < :startDate THEN e.amount ELSE 0 END), 0) AS previousTotal " +
+            "FROM ExpenseEntity e JOIN e.category c " +
+            "WHERE e.profile.id = :profileId AND e.date BETWEEN :previousStartDate AND :endDate " +
+            "GROUP BY c.id, c.name, c.icon")
+    List<CategoryTotals> findCategoryTotals(@Param("profileId") Long profileId,
+                                            @Param("previousStartDate") LocalDate previousStartDate,
+                                            @Param("startDate") LocalDate startDate,
+                                            @Param("endDate") LocalDate endDate);
 }
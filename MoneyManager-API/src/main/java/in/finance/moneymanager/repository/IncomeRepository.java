@@ -1,8 +1,10 @@
 package in.finance.moneymanager.repository;
 
+import in.finance.moneymanager.dto.IncomeDTO;
 import in.finance.moneymanager.entity.IncomeEntity;
-import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
@@ -10,24 +12,38 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
 
-public interface IncomeRepository extends JpaRepository<IncomeEntity, Long> {
+public interface IncomeRepository extends JpaRepository<IncomeEntity, Long>, JpaSpecificationExecutor<IncomeEntity> {
 
     List<IncomeEntity> findByProfileIdOrderByDateDesc(Long profileId);
 
-    List<IncomeEntity> findTop5ByProfileIdOrderByDateDesc(Long profileId);
+    // Read-path listings select straight into DTOs: one statement with the category join, no managed entities
+    @Query("SELECT new in.finance.moneymanager.dto.IncomeDTO(i.id, i.name, i.icon, c.name, c.id, i.amount, i.date, i.createdAt, i.updatedAt) " +
+            "FROM IncomeEntity i JOIN i.category c " +
+            "WHERE i.profile.id = :profileId ORDER BY i.date DESC, i.id DESC")
+    List<IncomeDTO> findLatestDTOs(@Param("profileId") Long profileId, Limit limit);
 
     @Query("SELECT SUM(i.amount) FROM IncomeEntity i WHERE i.profile.id = :profileId")
     BigDecimal findTotalIncomeByProfileId(@Param("profileId") Long profileId);
 
-    List<IncomeEntity> findByProfileIdAndDateBetweenAndNameContainingIgnoreCase(
-            Long profileId,
-            LocalDate startDate,
-            LocalDate endDate,
-            String keyword,
-            Sort sort
-    );
-
-    List<IncomeEntity> findByProfileIdAndDateBetween(Long profileId, LocalDate startDate, LocalDate endDate);
+    @Query("SELECT new in.finance.moneymanager.dto.IncomeDTO(i.id, i.name, i.icon, c.name, c.id, i.amount, i.date, i.createdAt, i.updatedAt) " +
+            "FROM IncomeEntity i JOIN i.category c " +
+            "WHERE i.profile.id = :profileId AND i.date BETWEEN :startDate AND :endDate")
+    List<IncomeDTO> findDTOsByProfileIdAndDateBetween(@Param("profileId") Long profileId,
+                                                     @Param("startDate") LocalDate startDate,
+                                                     @Param("endDate") LocalDate endDate);
 
     boolean existsByCategoryId(Long categoryId);
+
+    // One pass over [previousStartDate, endDate]: rows from startDate on count towards the current period
+    @Query("SELECT c.id AS categoryId, c.name AS categoryName, c.icon AS icon, " +
+            "COALESCE(SUM(CASE WHEN i.date >= :startDate THEN i.amount ELSE 0 END), 0) AS total, " +
+            "SUM(CASE WHEN i.date >= :startDate THEN 1 ELSE 0 END) AS txnCount, " +
+            "COALESCE(SUM(CASE WHEN i.date < :startDate THEN i.amount ELSE 0 END), 0) AS previousTotal " +
+            "FROM IncomeEntity i JOIN i.category c " +
+            "WHERE i.profile.id = :profileId AND i.date BETWEEN :previousStartDate AND :endDate " +
+            "GROUP BY c.id, c.name, c.icon")
+    List<CategoryTotals> findCategoryTotals(@Param("profileId") Long profileId,
+                                            @Param("previousStartDate") LocalDate previousStartDate,
+                                            @Param("startDate") LocalDate startDate,
+                                            @Param("endDate") LocalDate endDate);
 }
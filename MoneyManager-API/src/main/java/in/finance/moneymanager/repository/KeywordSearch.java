@@ -0,0 +1,148 @@
+package in.finance.moneymanager.repository;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Order;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Index-backed keyword search on transaction names:
+// PostgreSQL uses a pg_trgm GIN index on lower(name), which serves the plain LIKE '%kw%' filter;
+// MySQL uses a FULLTEXT index with boolean prefix queries; other databases fall back to LIKE.
+@Component
+@Slf4j
+public class KeywordSearch {
+
+    public static final String RELEVANCE = "relevance";
+
+    // InnoDB ignores shorter tokens (innodb_ft_min_token_size), so such keywords fall back to LIKE
+    private static final int FULLTEXT_MIN_TERM_LENGTH = 3;
+
+    public enum Mode { TRIGRAM, FULLTEXT, LIKE }
+
+    private final Mode mode;
+
+    public KeywordSearch(DataSource dataSource, @Value("${app.search.mode:auto}") String configuredMode) {
+        this.mode = "auto".equalsIgnoreCase(configuredMode)
+                ? detect(dataSource)
+                : Mode.valueOf(configuredMode.toUpperCase());
+        log.info("Keyword search mode: {}", mode);
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    public static boolean isRelevanceSort(Sort sort) {
+        return sort.getOrderFor(RELEVANCE) != null;
+    }
+
+    // "kw" matches names containing kw, "kw*" names with a word starting with kw.
+    // In FULLTEXT mode both match word prefixes, since the index can't serve substrings.
+    public <T> Specification<T> matches(String keyword) {
+        String term = term(keyword);
+        if (term.isEmpty()) {
+            return TransactionSpecifications.nameContains("");
+        }
+        String booleanQuery = mode == Mode.FULLTEXT ? booleanQuery(term) : null;
+        if (booleanQuery != null) {
+            return (root, query, cb) -> cb.greaterThan(
+                    cb.function("match_against", Double.class, root.get("name"), bind(cb, booleanQuery)), 0.0);
+        }
+        return isPrefix(keyword)
+                ? TransactionSpecifications.nameHasWordStartingWith(term)
+                : TransactionSpecifications.nameContains(term);
+    }
+
+    // Best matches first: names starting with the keyword, then by trigram similarity or full-text score
+    // (shortest name without either), then newest. Without a keyword, newest first.
+    public <T> Specification<T> orderedByRelevance(String keyword) {
+        String term = term(keyword);
+        String booleanQuery = mode == Mode.FULLTEXT ? booleanQuery(term) : null;
+        return (root, query, cb) -> {
+            List<Order> orders = new ArrayList<>();
+            if (!term.isEmpty()) {
+                Expression<String> name = cb.lower(root.get("name"));
+                orders.add(cb.desc(cb.<Integer>selectCase()
+                        .when(cb.like(name, TransactionSpecifications.escapeLike(term) + "%", '\\'), 1)
+                        .otherwise(0)));
+                if (mode == Mode.TRIGRAM) {
+                    orders.add(cb.desc(cb.function("similarity", Double.class, name, bind(cb, term))));
+                } else if (booleanQuery != null) {
+                    orders.add(cb.desc(cb.function("match_against", Double.class, root.get("name"), bind(cb, booleanQuery))));
+                } else {
+                    orders.add(cb.asc(cb.length(root.get("name"))));
+                }
+            } else {
+                orders.add(cb.desc(root.get("date")));
+            }
+            orders.add(cb.desc(root.get("id")));
+            query.orderBy(orders);
+            return cb.conjunction();
+        };
+    }
+
+    //helper methods
+    private static Mode detect(DataSource dataSource) {
+        try {
+            String product = JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+            if ("PostgreSQL".equalsIgnoreCase(product)) {
+                return Mode.TRIGRAM;
+            }
+            if ("MySQL".equalsIgnoreCase(product)) {
+                return Mode.FULLTEXT;
+            }
+        } catch (MetaDataAccessException e) {
+            log.warn("Could not detect the database for keyword search, using LIKE", e);
+        }
+        return Mode.LIKE;
+    }
+
+    // Bound as a JDBC parameter; criteria literals would be inlined into the SQL text
+    private static Expression<String> bind(CriteriaBuilder cb, String value) {
+        return ((HibernateCriteriaBuilder) cb).value(value);
+    }
+
+    private static boolean isPrefix(String keyword) {
+        return keyword != null && keyword.trim().endsWith("*");
+    }
+
+    private static String term(String keyword) {
+        if (keyword == null) {
+            return "";
+        }
+        String trimmed = keyword.trim();
+        while (trimmed.endsWith("*")) {
+            trimmed = trimmed.substring(0, trimmed.length() - 1).trim();
+        }
+        return trimmed.toLowerCase();
+    }
+
+    // "+word1* +word2*": every word must start a word of the name. Operators typed by the user are dropped.
+    private static String booleanQuery(String term) {
+        List<String> words = Arrays.stream(term.split("\\s+"))
+                .map(word -> word.replaceAll("[+\\-<>()~*\"@]", ""))
+                .filter(word -> !word.isEmpty())
+                .toList();
+        if (words.isEmpty() || words.stream().anyMatch(word -> word.length() < FULLTEXT_MIN_TERM_LENGTH)) {
+            return null;
+        }
+        StringBuilder query = new StringBuilder();
+        for (String word : words) {
+            query.append(query.isEmpty() ? "" : " ").append('+').append(word).append('*');
+        }
+        return query.toString();
+    }
+}
@@ -0,0 +1,15 @@
+package in.finance.moneymanager.repository;
+
+import java.math.BigDecimal;
+
+// Projection for totals recomputed from the raw income and expense rows
+public interface LedgerTotals {
+
+    BigDecimal getTotalIncome();
+
+    Long getIncomeCount();
+
+    BigDecimal getTotalExpense();
+
+    Long getExpenseCount();
+}
@@ -0,0 +1,58 @@
+package in.finance.moneymanager.repository;
+
+import in.finance.moneymanager.entity.MonthlyRollupEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public interface MonthlyRollupRepository extends JpaRepository<MonthlyRollupEntity, Long> {
+
+    // Relative update of one bucket; returns 0 when the bucket doesn't exist yet
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE MonthlyRollupEntity r SET r.totalAmount = r.totalAmount + :amount, r.txnCount = r.txnCount + :count, " +
+            "r.updatedAt = CURRENT_TIMESTAMP WHERE r.profileId = :profileId AND r.categoryId = :categoryId " +
+            "AND r.type = :type AND r.year = :year AND r.month = :month")
+    int addToBucket(@Param("profileId") Long profileId, @Param("categoryId") Long categoryId, @Param("type") String type,
+                    @Param("year") int year, @Param("month") int month,
+                    @Param("amount") BigDecimal amount, @Param("count") long count);
+
+    // Monthly totals per type between two months (inclusive), optionally for one category.
+    // The range is spelled out on the bare columns so the (profile_id, period_year, period_month) index can seek on it.
+    @Query("SELECT r.year AS year, r.month AS month, r.type AS type, SUM(r.totalAmount) AS totalAmount, " +
+            "SUM(r.txnCount) AS txnCount FROM MonthlyRollupEntity r " +
+            "WHERE r.profileId = :profileId " +
+            "AND r.year BETWEEN :fromYear AND :toYear " +
+            "AND (r.year > :fromYear OR r.month >= :fromMonth) " +
+            "AND (r.year < :toYear OR r.month <= :toMonth) " +
+            "AND (:categoryId IS NULL OR r.categoryId = :categoryId) " +
+            "GROUP BY r.year, r.month, r.type ORDER BY r.year, r.month")
+    List<RollupPoint> findMonthlySeries(@Param("profileId") Long profileId,
+                                        @Param("fromYear") int fromYear,
+                                        @Param("fromMonth") int fromMonth,
+                                        @Param("toYear") int toYear,
+                                        @Param("toMonth") int toMonth,
+                                        @Param("categoryId") Long categoryId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM MonthlyRollupEntity r WHERE r.profileId = :profileId")
+    int deleteByProfileId(@Param("profileId") Long profileId);
+
+    // Rebuild a profile's buckets from the raw rows
+    @Modifying(flushAutomatically = true)
+    @Query("INSERT INTO MonthlyRollupEntity (profileId, categoryId, type, year, month, totalAmount, txnCount, updatedAt) " +
+            "SELECT i.profile.id, i.category.id, 'income', year(i.date), month(i.date), COALESCE(SUM(i.amount), 0), COUNT(i), " +
+            "CURRENT_TIMESTAMP FROM IncomeEntity i WHERE i.profile.id = :profileId " +
+            "GROUP BY i.profile.id, i.category.id, year(i.date), month(i.date)")
+    int insertIncomeBuckets(@Param("profileId") Long profileId);
+
+    @Modifying(flushAutomatically = true)
+    @Query("INSERT INTO MonthlyRollupEntity (profileId, categoryId, type, year, month, totalAmount, txnCount, updatedAt) " +
+            "SELECT e.profile.id, e.category.id, 'expense', year(e.date), month(e.date), COALESCE(SUM(e.amount), 0), COUNT(e), " +
+            "CURRENT_TIMESTAMP FROM ExpenseEntity e WHERE e.profile.id = :profileId " +
+            "GROUP BY e.profile.id, e.category.id, year(e.date), month(e.date)")
+    int insertExpenseBuckets(@Param("profileId") Long profileId);
+}
@@ -2,7 +2,9 @@ package in.finance.moneymanager.repository;
 
 import in.finance.moneymanager.entity.ProfileEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface ProfileRepository extends JpaRepository<ProfileEntity,Long> {
@@ -10,4 +12,8 @@ public interface ProfileRepository extends JpaRepository<ProfileEntity,Long> {
     Optional<ProfileEntity> findByEmail(String email);
 
     Optional<ProfileEntity> findByActivationToken(String activationToken);
+
+    // Ids only, for jobs that walk every profile without needing the rows
+    @Query("SELECT p.id FROM ProfileEntity p ORDER BY p.id")
+    List<Long> findAllIds();
 }
@@ -0,0 +1,47 @@
+package in.finance.moneymanager.repository;
+
+import in.finance.moneymanager.entity.ProfileSummaryEntity;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+
+public interface ProfileSummaryRepository extends JpaRepository<ProfileSummaryEntity, Long> {
+
+    // Relative updates: the row lock they take serializes concurrent writes for the same profile
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE ProfileSummaryEntity s SET s.totalIncome = s.totalIncome + :amount, " +
+            "s.incomeCount = s.incomeCount + :count, s.dataVersion = COALESCE(s.dataVersion, 0) + 1, " +
+            "s.updatedAt = CURRENT_TIMESTAMP WHERE s.profileId = :profileId")
+    int addIncome(@Param("profileId") Long profileId, @Param("amount") BigDecimal amount, @Param("count") long count);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE ProfileSummaryEntity s SET s.totalExpense = s.totalExpense + :amount, " +
+            "s.expenseCount = s.expenseCount + :count, s.dataVersion = COALESCE(s.dataVersion, 0) + 1, " +
+            "s.updatedAt = CURRENT_TIMESTAMP WHERE s.profileId = :profileId")
+    int addExpense(@Param("profileId") Long profileId, @Param("amount") BigDecimal amount, @Param("count") long count);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE ProfileSummaryEntity s SET s.dataVersion = COALESCE(s.dataVersion, 0) + 1 WHERE s.profileId = :profileId")
+    int incrementDataVersion(@Param("profileId") Long profileId);
+
+    @Query("SELECT COALESCE(s.dataVersion, 0) FROM ProfileSummaryEntity s WHERE s.profileId = :profileId")
+    Optional<Long> findDataVersion(@Param("profileId") Long profileId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM ProfileSummaryEntity s WHERE s.profileId = :profileId")
+    Optional<ProfileSummaryEntity> findByIdForUpdate(@Param("profileId") Long profileId);
+
+    @Query(value = """
+            SELECT COALESCE((SELECT SUM(i.amount) FROM tbl_incomes i WHERE i.profile_id = :profileId), 0) AS totalIncome,
+                   (SELECT COUNT(*) FROM tbl_incomes i WHERE i.profile_id = :profileId) AS incomeCount,
+                   COALESCE((SELECT SUM(e.amount) FROM tbl_expenses e WHERE e.profile_id = :profileId), 0) AS totalExpense,
+                   (SELECT COUNT(*) FROM tbl_expenses e WHERE e.profile_id = :profileId) AS expenseCount
+            """, nativeQuery = true)
+    LedgerTotals computeTotalsByProfileId(@Param("profileId") Long profileId);
+}
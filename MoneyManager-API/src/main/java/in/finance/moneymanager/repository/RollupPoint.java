@@ -0,0 +1,17 @@
+package in.finance.moneymanager.repository;
+
+import java.math.BigDecimal;
+
+// One (year, month, type) bucket of the monthly rollup, summed over categories
+public interface RollupPoint {
+
+    Integer getYear();
+
+    Integer getMonth();
+
+    String getType();
+
+    BigDecimal getTotalAmount();
+
+    Long getTxnCount();
+}
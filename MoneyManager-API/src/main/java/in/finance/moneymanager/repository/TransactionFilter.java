@@ -0,0 +1,26 @@
+package in.finance.moneymanager.repository;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Set;
+
+// What a /filter request selects; every criterion but the date range is optional (null or empty means "any")
+@Getter
+@Builder
+public class TransactionFilter {
+
+    private final LocalDate startDate;
+    private final LocalDate endDate;
+    private final String keyword;
+    private final BigDecimal minAmount;
+    private final BigDecimal maxAmount;
+    private final Set<Long> categoryIds;
+    private final LocalDateTime createdFrom;
+    private final LocalDateTime createdTo;
+    private final LocalDateTime updatedFrom;
+    private final LocalDateTime updatedTo;
+}
@@ -0,0 +1,79 @@
+package in.finance.moneymanager.repository;
+
+import in.finance.moneymanager.util.CursorCodec;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.time.format.DateTimeParseException;
+
+// Position after the last row of a page: its sort key value and id, bound to the sort it was made for.
+// Merged income + expense listings also record the row's type, which breaks ties between the two tables.
+@Getter
+@AllArgsConstructor
+public class TransactionKeyset {
+
+    private final TransactionSortField sortField;
+    private final Sort.Direction direction;
+    private final Comparable<?> value;
+    private final Long id;
+    private final String type;
+
+    // Cursor for the row an income or expense page ended on
+    public static String encode(Object entity, TransactionSortField sortField, Sort.Direction direction) {
+        BeanWrapperImpl row = new BeanWrapperImpl(entity);
+        return CursorCodec.encode(sortField, direction, row.getPropertyValue("id"), valueOf(row, sortField));
+    }
+
+    // Cursor for the row a merged page ended on; row must expose the sort property, id and type
+    public static String encodeMerged(Object transaction, TransactionSortField sortField, Sort.Direction direction) {
+        BeanWrapperImpl row = new BeanWrapperImpl(transaction);
+        return CursorCodec.encode(sortField, direction, row.getPropertyValue("type"), row.getPropertyValue("id"),
+                valueOf(row, sortField));
+    }
+
+    // A cursor is only valid with the sort it was issued for
+    public static TransactionKeyset decode(String cursor, TransactionSortField sortField, Sort.Direction direction) {
+        String[] parts = CursorCodec.decode(cursor, 4);
+        if (!sortField.name().equals(parts[0]) || !direction.name().equals(parts[1])) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Cursor does not match the requested sort");
+        }
+        try {
+            return new TransactionKeyset(sortField, direction, sortField.parse(parts[3]), Long.valueOf(parts[2]), null);
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+        }
+    }
+
+    public static TransactionKeyset decodeMerged(String cursor, TransactionSortField sortField, Sort.Direction direction) {
+        String[] parts = CursorCodec.decode(cursor, 5);
+        if (!sortField.name().equals(parts[0]) || !direction.name().equals(parts[1])) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Cursor does not match the requested sort");
+        }
+        try {
+            return new TransactionKeyset(sortField, direction, sortField.parse(parts[4]), Long.valueOf(parts[3]), parts[2]);
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+        }
+    }
+
+    // Seek position inside one table of a merged listing, where equal values order by type name, then id, both in
+    // the listing's direction. For the other table the id bound keeps all of its equal values (they come after the
+    // cursor's row) or none (they came before it); which bound does that works out the same in both directions.
+    public TransactionKeyset within(String rowType) {
+        if (type == null || type.equals(rowType)) {
+            return new TransactionKeyset(sortField, direction, value, id, null);
+        }
+        long bound = rowType.compareTo(type) < 0 ? Long.MAX_VALUE : Long.MIN_VALUE;
+        return new TransactionKeyset(sortField, direction, value, bound, null);
+    }
+
+    private static Object valueOf(BeanWrapperImpl row, TransactionSortField sortField) {
+        Object value = sortField.normalize(row.getPropertyValue(sortField.getProperty()));
+        return value instanceof BigDecimal amount ? amount.toPlainString() : value;
+    }
+}
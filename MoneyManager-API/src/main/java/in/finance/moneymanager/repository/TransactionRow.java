@@ -0,0 +1,29 @@
+package in.finance.moneymanager.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// Projection for an income or expense row joined to its category name; type is "income" or "expense"
+public interface TransactionRow {
+
+    Long getId();
+
+    String getName();
+
+    String getIcon();
+
+    Long getCategoryId();
+
+    String getCategoryName();
+
+    BigDecimal getAmount();
+
+    LocalDate getDate();
+
+    LocalDateTime getCreatedAt();
+
+    LocalDateTime getUpdatedAt();
+
+    String getType();
+}
@@ -0,0 +1,70 @@
+package in.finance.moneymanager.repository;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Root;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.function.Function;
+
+// Sort keys allowed for income/expense listings; each is paired with id so the order is total
+public enum TransactionSortField {
+
+    DATE("date", LocalDate::parse),
+    AMOUNT("amount", BigDecimal::new),
+    NAME("name", Function.identity()),
+    CREATED_AT("createdAt", LocalDateTime::parse);
+
+    private final String property;
+    private final Function<String, ? extends Comparable<?>> parser;
+
+    TransactionSortField(String property, Function<String, ? extends Comparable<?>> parser) {
+        this.property = property;
+        this.parser = parser;
+    }
+
+    public String getProperty() {
+        return property;
+    }
+
+    // Matches the entity property name, e.g. "createdAt"
+    public static Optional<TransactionSortField> fromProperty(String property) {
+        return Arrays.stream(values())
+                .filter(field -> field.property.equalsIgnoreCase(property))
+                .findFirst();
+    }
+
+    // Amount and name are nullable; treat null as zero / empty so seek predicates never compare against NULL
+    // (which would skip those rows) and ordering doesn't depend on the database's NULL placement
+    @SuppressWarnings("unchecked")
+    public <T> Expression<Comparable<Object>> expression(Root<T> root, CriteriaBuilder cb) {
+        Expression<Comparable<Object>> path = root.get(property);
+        if (this == AMOUNT) {
+            return (Expression<Comparable<Object>>) (Expression<?>) cb.coalesce(root.<BigDecimal>get(property), BigDecimal.ZERO);
+        }
+        if (this == NAME) {
+            return (Expression<Comparable<Object>>) (Expression<?>) cb.coalesce(root.<String>get(property), "");
+        }
+        return path;
+    }
+
+    public Comparable<?> parse(String value) {
+        return parser.apply(value);
+    }
+
+    // Same null handling as expression()
+    public Object normalize(Object value) {
+        if (value != null) {
+            return value;
+        }
+        return switch (this) {
+            case AMOUNT -> BigDecimal.ZERO;
+            case NAME -> "";
+            default -> null;
+        };
+    }
+}
@@ -0,0 +1,128 @@
+package in.finance.moneymanager.repository;
+
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Path;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+// Criteria building blocks shared by IncomeEntity and ExpenseEntity, which have the same property names
+public final class TransactionSpecifications {
+
+    private TransactionSpecifications() {
+    }
+
+    public static <T> Specification<T> ownedBy(Long profileId) {
+        return (root, query, cb) -> cb.equal(root.get("profile").get("id"), profileId);
+    }
+
+    public static <T> Specification<T> dateBetween(LocalDate startDate, LocalDate endDate) {
+        return (root, query, cb) -> cb.between(root.get("date"), startDate, endDate);
+    }
+
+    // Date range plus whichever optional criteria are set (keyword matching is KeywordSearch's job).
+    // Unset criteria add no predicate, so each combination in use compiles to one cached query plan.
+    public static <T> Specification<T> matching(TransactionFilter filter) {
+        return Specification.allOf(
+                dateBetween(filter.getStartDate(), filter.getEndDate()),
+                between("amount", filter.getMinAmount(), filter.getMaxAmount()),
+                categoryIn(filter.getCategoryIds()),
+                between("createdAt", filter.getCreatedFrom(), filter.getCreatedTo()),
+                between("updatedAt", filter.getUpdatedFrom(), filter.getUpdatedTo()));
+    }
+
+    // Compares the category_id column; no join
+    public static <T> Specification<T> categoryIn(Collection<Long> categoryIds) {
+        if (categoryIds == null || categoryIds.isEmpty()) {
+            return Specification.unrestricted();
+        }
+        return (root, query, cb) -> root.get("category").get("id").in(categoryIds);
+    }
+
+    // Inclusive range on a property; either end may be open
+    public static <T, V extends Comparable<? super V>> Specification<T> between(String property, V from, V to) {
+        if (from == null && to == null) {
+            return Specification.unrestricted();
+        }
+        return (root, query, cb) -> {
+            Path<V> path = root.get(property);
+            if (from == null) {
+                return cb.lessThanOrEqualTo(path, to);
+            }
+            return to == null ? cb.greaterThanOrEqualTo(path, from) : cb.between(path, from, to);
+        };
+    }
+
+    // Same semantics as NameContainingIgnoreCase: wildcards in the keyword are literals
+    public static <T> Specification<T> nameContains(String keyword) {
+        String pattern = "%" + escapeLike(keyword.toLowerCase()) + "%";
+        return (root, query, cb) -> cb.like(cb.lower(root.get("name")), pattern, '\\');
+    }
+
+    // Name starts with the keyword, or has a word that does
+    public static <T> Specification<T> nameHasWordStartingWith(String keyword) {
+        String escaped = escapeLike(keyword.toLowerCase());
+        return (root, query, cb) -> cb.or(
+                cb.like(cb.lower(root.get("name")), escaped + "%", '\\'),
+                cb.like(cb.lower(root.get("name")), "% " + escaped + "%", '\\'));
+    }
+
+    static String escapeLike(String value) {
+        return value.replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+    }
+
+    // Load the category with the row, so mapping to DTOs doesn't issue a query per row
+    public static <T> Specification<T> fetchCategory() {
+        return (root, query, cb) -> {
+            if (query.getResultType() != Long.class && query.getResultType() != long.class) {
+                root.fetch("category", JoinType.LEFT);
+            }
+            return cb.conjunction();
+        };
+    }
+
+    // Order by the sort key, then id, in the same direction
+    public static <T> Specification<T> orderedBy(TransactionSortField sortField, Sort.Direction direction) {
+        return (root, query, cb) -> {
+            Expression<?> key = sortField.expression(root, cb);
+            Path<Long> id = root.get("id");
+            query.orderBy(direction.isAscending()
+                    ? List.of(cb.asc(key), cb.asc(id))
+                    : List.of(cb.desc(key), cb.desc(id)));
+            return cb.conjunction();
+        };
+    }
+
+    // Same order for a Sort on a TransactionSortField property (then id), as whole listings are requested
+    public static <T> Specification<T> orderedBy(Sort sort) {
+        Sort.Order first = sort.stream().findFirst().orElse(null);
+        if (first == null) {
+            return Specification.unrestricted();
+        }
+        TransactionSortField sortField = TransactionSortField.fromProperty(first.getProperty())
+                .orElseThrow(() -> new IllegalArgumentException("Not a transaction sort: " + sort));
+        return orderedBy(sortField, first.getDirection());
+    }
+
+    // Seek predicate: rows strictly after the keyset in the listing's order
+    @SuppressWarnings("unchecked")
+    public static <T> Specification<T> after(TransactionKeyset keyset) {
+        return (root, query, cb) -> {
+            Expression<Comparable<Object>> key = keyset.getSortField().expression(root, cb);
+            Comparable<Object> value = (Comparable<Object>) keyset.getValue();
+            Path<Long> id = root.get("id");
+            if (keyset.getDirection().isAscending()) {
+                return cb.or(cb.greaterThan(key, value),
+                        cb.and(cb.equal(key, value), cb.greaterThan(id, keyset.getId())));
+            }
+            return cb.or(cb.lessThan(key, value),
+                    cb.and(cb.equal(key, value), cb.lessThan(id, keyset.getId())));
+        };
+    }
+}
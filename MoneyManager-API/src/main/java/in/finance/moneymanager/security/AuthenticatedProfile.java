@@ -0,0 +1,26 @@
+package in.finance.moneymanager.security;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.security.Principal;
+
+// Lightweight principal built from JWT claims, so requests don't need a profile lookup
+@Getter
+@AllArgsConstructor
+public class AuthenticatedProfile implements Principal {
+
+    private final Long id;
+    private final String email;
+    private final boolean active;
+
+    @Override
+    public String getName() {
+        return email;
+    }
+
+    @Override
+    public String toString() {
+        return email;
+    }
+}
@@ -0,0 +1,55 @@
+package in.finance.moneymanager.security;
+
+import in.finance.moneymanager.entity.ProfileEntity;
+import in.finance.moneymanager.service.ProfileCacheService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.annotation.RequestScope;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Resolves the current profile at most once per HTTP request and shares it across services
+@Component
+@RequestScope
+@RequiredArgsConstructor
+public class CurrentProfileHolder {
+
+    private final ProfileCacheService profileCacheService;
+
+    private final AtomicInteger lookupCount = new AtomicInteger();
+    private Long profileId;
+    private ProfileEntity profile;
+
+    // Profile id from the JWT principal; only hits the database for principals without one
+    public Long getProfileId() {
+        if (profileId == null) {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            if (authentication != null && authentication.getPrincipal() instanceof AuthenticatedProfile principal) {
+                profileId = principal.getId();
+            } else {
+                profileId = getProfile().getId();
+            }
+        }
+        return profileId;
+    }
+
+    // Full profile row, loaded on first use
+    public ProfileEntity getProfile() {
+        if (profile == null) {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            lookupCount.incrementAndGet();
+            profile = profileCacheService.findByEmail(authentication.getName())
+                    .orElseThrow(() ->
+                            new UsernameNotFoundException("Profile not found with email: " + authentication.getName()));
+        }
+        return profile;
+    }
+
+    // Number of profile lookups issued during this request
+    public int getLookupCount() {
+        return lookupCount.get();
+    }
+}
@@ -0,0 +1,20 @@
+package in.finance.moneymanager.security;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+// Raised when the password hashing queue is full; maps to a fast 503 with Retry-After
+public class HashingCapacityExceededException extends ResponseStatusException {
+
+    public HashingCapacityExceededException() {
+        super(HttpStatus.SERVICE_UNAVAILABLE, "Server is busy. Please try again shortly.");
+    }
+
+    @Override
+    public HttpHeaders getHeaders() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, "1");
+        return headers;
+    }
+}
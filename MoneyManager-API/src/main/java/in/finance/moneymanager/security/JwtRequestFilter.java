@@ -1,6 +1,9 @@
 package in.finance.moneymanager.security;
 
+import in.finance.moneymanager.service.ProfileCacheService;
 import in.finance.moneymanager.util.JwtUtil;
+import in.finance.moneymanager.util.VerifiedToken;
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -8,38 +11,41 @@ import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Collections;
 
 @Component
 @RequiredArgsConstructor
 public class JwtRequestFilter extends OncePerRequestFilter {
 
-    private final UserDetailsService userDetailsService;
+    private final ProfileCacheService profileCacheService;
     private final JwtUtil jwtUtil;
 
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
         final String authHeader = request.getHeader("Authorization");
-        String email = null;
-        String jwt = null;
+        VerifiedToken token = null;
 
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
-            jwt = authHeader.substring(7);
-            email = jwtUtil.extractUsername(jwt);
+            try {
+                // Single parse: signature and expiry are both checked here
+                token = jwtUtil.verifyToken(authHeader.substring(7));
+            } catch (JwtException | IllegalArgumentException e) {
+                // Invalid or expired token: continue unauthenticated
+            }
         }
 
-        if (email != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = this.userDetailsService.loadUserByUsername(email);
-            if (jwtUtil.validateToken(jwt, userDetails)) {
+        if (token != null && token.getSubject() != null
+                && SecurityContextHolder.getContext().getAuthentication() == null) {
+            AuthenticatedProfile principal = toPrincipal(token);
+            if (principal != null && principal.isActive()) {
                 UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                        userDetails, null, userDetails.getAuthorities()
+                        principal, null, Collections.emptyList()
                 );
                 authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                 SecurityContextHolder.getContext().setAuthentication(authToken);
@@ -47,4 +53,17 @@ public class JwtRequestFilter extends OncePerRequestFilter {
         }
         filterChain.doFilter(request, response);
     }
+
+    // Build the principal from claims; tokens issued before the claims existed fall back to one lookup
+    private AuthenticatedProfile toPrincipal(VerifiedToken token) {
+        Number profileId = token.getClaim(JwtUtil.CLAIM_PROFILE_ID, Number.class);
+        Boolean active = token.getClaim(JwtUtil.CLAIM_ACTIVE, Boolean.class);
+        if (profileId != null && active != null) {
+            return new AuthenticatedProfile(profileId.longValue(), token.getSubject(), active);
+        }
+        return profileCacheService.findByEmail(token.getSubject())
+                .map(profile -> new AuthenticatedProfile(
+                        profile.getId(), profile.getEmail(), Boolean.TRUE.equals(profile.getIsActive())))
+                .orElse(null);
+    }
 }
@@ -0,0 +1,165 @@
+package in.finance.moneymanager.service;
+
+import in.finance.moneymanager.dto.CategoryBreakdownDTO;
+import in.finance.moneymanager.dto.SeriesPointDTO;
+import in.finance.moneymanager.repository.CategoryTotals;
+import in.finance.moneymanager.repository.ExpenseRepository;
+import in.finance.moneymanager.repository.IncomeRepository;
+import in.finance.moneymanager.repository.MonthlyRollupRepository;
+import in.finance.moneymanager.repository.RollupPoint;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.Year;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Aggregated views for charts: time series from tbl_monthly_rollups, category breakdowns via GROUP BY
+@Service
+@RequiredArgsConstructor
+public class AnalyticsService {
+
+    private static final int DEFAULT_MONTHS = 12;
+    private static final int MAX_MONTHS = 1200;
+
+    private static final BigDecimal ONE_HUNDRED = BigDecimal.valueOf(100);
+
+    private final MonthlyRollupRepository monthlyRollupRepository;
+    private final IncomeRepository incomeRepository;
+    private final ExpenseRepository expenseRepository;
+    private final ProfileService profileService;
+
+    // Every period in the range is present, with zeros where nothing was recorded.
+    // from/to accept "yyyy-MM" or "yyyy"; yearly series always cover whole years.
+    public List<SeriesPointDTO> getSeries(String from, String to, String granularity, Long categoryId) {
+        boolean yearly = "year".equalsIgnoreCase(granularity);
+        if (!yearly && granularity != null && !"month".equalsIgnoreCase(granularity)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "granularity must be 'month' or 'year'");
+        }
+        YearMonth end = to != null ? parsePeriod(to, true) : YearMonth.now();
+        YearMonth start = from != null ? parsePeriod(from, false) : end.minusMonths(DEFAULT_MONTHS - 1);
+        if (yearly) {
+            start = start.withMonth(1);
+            end = end.withMonth(12);
+        }
+        if (start.isAfter(end)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "from must not be after to");
+        }
+        if (start.plusMonths(MAX_MONTHS).isBefore(end)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Range is limited to " + MAX_MONTHS + " months");
+        }
+
+        Long profileId = profileService.getCurrentProfileId();
+        List<RollupPoint> rows = monthlyRollupRepository.findMonthlySeries(profileId,
+                start.getYear(), start.getMonthValue(), end.getYear(), end.getMonthValue(), categoryId);
+
+        // Pre-fill every period, then add the rollup rows into their slot
+        Map<String, SeriesPointDTO> points = new LinkedHashMap<>();
+        for (YearMonth month = start; !month.isAfter(end); month = month.plusMonths(1)) {
+            String period = yearly ? String.valueOf(month.getYear()) : month.toString();
+            points.computeIfAbsent(period, this::emptyPoint);
+        }
+        for (RollupPoint row : rows) {
+            YearMonth month = YearMonth.of(row.getYear(), row.getMonth());
+            SeriesPointDTO point = points.get(yearly ? String.valueOf(month.getYear()) : month.toString());
+            BigDecimal amount = row.getTotalAmount() != null ? row.getTotalAmount() : BigDecimal.ZERO;
+            long count = row.getTxnCount() != null ? row.getTxnCount() : 0L;
+            if (RollupService.INCOME.equals(row.getType())) {
+                point.setIncome(point.getIncome().add(amount));
+                point.setIncomeCount(point.getIncomeCount() + count);
+            } else {
+                point.setExpense(point.getExpense().add(amount));
+                point.setExpenseCount(point.getExpenseCount() + count);
+            }
+        }
+        List<SeriesPointDTO> series = new ArrayList<>(points.values());
+        series.forEach(point -> point.setNet(point.getIncome().subtract(point.getExpense())));
+        return series;
+    }
+
+    // Totals per category for [startDate, endDate], compared with the period of equal length before it.
+    // Defaults to the current month so far; only aggregated rows come back from the database.
+    public List<CategoryBreakdownDTO> getCategoryBreakdown(String type, LocalDate startDate, LocalDate endDate) {
+        LocalDate end = endDate != null ? endDate : LocalDate.now();
+        LocalDate start = startDate != null ? startDate : end.withDayOfMonth(1);
+        if (start.isAfter(end)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "startDate must not be after endDate");
+        }
+        LocalDate previousStart = start.minusDays(ChronoUnit.DAYS.between(start, end) + 1);
+
+        Long profileId = profileService.getCurrentProfileId();
+        List<CategoryTotals> rows;
+        if (RollupService.INCOME.equalsIgnoreCase(type)) {
+            rows = incomeRepository.findCategoryTotals(profileId, previousStart, start, end);
+        } else if (RollupService.EXPENSE.equalsIgnoreCase(type)) {
+            rows = expenseRepository.findCategoryTotals(profileId, previousStart, start, end);
+        } else {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid type. Must be 'income' or 'expense'.");
+        }
+
+        BigDecimal grandTotal = rows.stream()
+                .map(CategoryTotals::getTotal)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        return rows.stream()
+                .map(row -> toBreakdownDTO(row, grandTotal))
+                .sorted(Comparator.comparing(CategoryBreakdownDTO::getTotal).reversed())
+                .toList();
+    }
+
+    //helper methods
+    private CategoryBreakdownDTO toBreakdownDTO(CategoryTotals row, BigDecimal grandTotal) {
+        BigDecimal total = row.getTotal();
+        BigDecimal previousTotal = row.getPreviousTotal();
+        BigDecimal change = total.subtract(previousTotal);
+        return CategoryBreakdownDTO.builder()
+                .categoryId(row.getCategoryId())
+                .categoryName(row.getCategoryName())
+                .icon(row.getIcon())
+                .total(total)
+                .count(row.getTxnCount() != null ? row.getTxnCount() : 0L)
+                .share(percentOf(total, grandTotal))
+                .previousTotal(previousTotal)
+                .change(change)
+                .changePercent(previousTotal.signum() == 0 ? null : percentOf(change, previousTotal))
+                .build();
+    }
+
+    private BigDecimal percentOf(BigDecimal part, BigDecimal whole) {
+        if (whole.signum() == 0) {
+            return BigDecimal.ZERO;
+        }
+        return part.multiply(ONE_HUNDRED).divide(whole, 2, RoundingMode.HALF_UP);
+    }
+
+    private YearMonth parsePeriod(String value, boolean endOfYear) {
+        try {
+            if (value.length() == 4) {
+                return Year.parse(value).atMonth(endOfYear ? 12 : 1);
+            }
+            return YearMonth.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid period '" + value + "', expected yyyy-MM or yyyy");
+        }
+    }
+
+    private SeriesPointDTO emptyPoint(String period) {
+        return SeriesPointDTO.builder()
+                .period(period)
+                .income(BigDecimal.ZERO)
+                .expense(BigDecimal.ZERO)
+                .incomeCount(0L)
+                .expenseCount(0L)
+                .build();
+    }
+}
@@ -1,7 +1,6 @@
 package in.finance.moneymanager.service;
 
 import in.finance.moneymanager.entity.ProfileEntity;
-import in.finance.moneymanager.repository.ProfileRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -15,11 +14,11 @@ import java.util.Collections;
 @RequiredArgsConstructor
 public class AppUserDetailService implements UserDetailsService {
 
-    private final ProfileRepository profileRepository;
+    private final ProfileCacheService profileCacheService;
 
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
-        ProfileEntity profile = profileRepository.findByEmail(email)
+        ProfileEntity profile = profileCacheService.findByEmail(email)
                 .orElseThrow(() -> new UsernameNotFoundException("Profile not found with email: " + email));
 
         return org.springframework.security.core.userdetails.User
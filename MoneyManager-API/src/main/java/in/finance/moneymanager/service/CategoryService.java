@@ -7,8 +7,10 @@ import in.finance.moneymanager.repository.CategoryRepository;
 import in.finance.moneymanager.repository.IncomeRepository;
 import in.finance.moneymanager.repository.ExpenseRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.util.List;
@@ -21,50 +23,56 @@ public class CategoryService {
     private final ProfileService profileService;
     private final IncomeRepository incomeRepository;
     private final ExpenseRepository expenseRepository;
+    private final ProfileSummaryService profileSummaryService;
 
     //save category
+    @Transactional
     public CategoryDTO saveCategory(CategoryDTO categoryDTO) {
-        ProfileEntity profile = profileService.getCurrentProfile();
+        ProfileEntity profile = profileService.getCurrentProfileReference();
         if(categoryRepository.existsByNameAndProfileId(categoryDTO.getName(), profile.getId())) {
             throw new ResponseStatusException(HttpStatus.CONFLICT, "Category with this name already exists");
         }
 
         CategoryEntity newCategory = toEntity(categoryDTO, profile);
-        newCategory = categoryRepository.save(newCategory);
+        newCategory = saveUnique(newCategory);
+        profileSummaryService.touch(profile.getId());
         return toDTO(newCategory);
     }
 
     //get categories for current user
     public List<CategoryDTO> getCategoriesForCurrentUser() {
-        ProfileEntity profile = profileService.getCurrentProfile();
-        List<CategoryEntity> categories = categoryRepository.findByProfileId(profile.getId());
+        Long profileId = profileService.getCurrentProfileId();
+        List<CategoryEntity> categories = categoryRepository.findByProfileId(profileId);
         return categories.stream().map(this::toDTO).toList();
     }
 
     //get categories by type for current user
     public List<CategoryDTO> getCategoriesByTypeForCurrentUser(String type) {
-        ProfileEntity profile = profileService.getCurrentProfile();
-        List<CategoryEntity> entities = categoryRepository.findByTypeAndProfileId(type, profile.getId());
+        Long profileId = profileService.getCurrentProfileId();
+        List<CategoryEntity> entities = categoryRepository.findByTypeAndProfileId(type, profileId);
         return entities.stream().map(this::toDTO).toList();
     }
 
     //update category
+    @Transactional
     public CategoryDTO updateCategory(Long categoryId, CategoryDTO categoryDTO) {
-        ProfileEntity profile = profileService.getCurrentProfile();
-        CategoryEntity existingCategory = categoryRepository.findByIdAndProfileId(categoryId, profile.getId())
+        Long profileId = profileService.getCurrentProfileId();
+        CategoryEntity existingCategory = categoryRepository.findByIdAndProfileId(categoryId, profileId)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Category not found or not accessible"));
         existingCategory.setName(categoryDTO.getName());
         existingCategory.setIcon(categoryDTO.getIcon());
         existingCategory.setType(categoryDTO.getType());
-        existingCategory = categoryRepository.save(existingCategory);
+        existingCategory = saveUnique(existingCategory);
+        profileSummaryService.touch(profileId);
         return toDTO(existingCategory);
     }
 
     //delete category
+    @Transactional
     public void deleteCategory(Long categoryId) {
-        ProfileEntity profile = profileService.getCurrentProfile();
+        Long profileId = profileService.getCurrentProfileId();
 
-        CategoryEntity category = categoryRepository.findByIdAndProfileId(categoryId, profile.getId())
+        CategoryEntity category = categoryRepository.findByIdAndProfileId(categoryId, profileId)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Category not found or not accessible"));
 
         // Optional: block deletion if used in income/expense
@@ -75,9 +83,19 @@ public class CategoryService {
         }
 
         categoryRepository.delete(category);
+        profileSummaryService.touch(profileId);
     }
 
     //helper methods
+    // Flush now so the unique (profile_id, name) index reports a concurrent or renamed duplicate as 409
+    private CategoryEntity saveUnique(CategoryEntity category) {
+        try {
+            return categoryRepository.saveAndFlush(category);
+        } catch (DataIntegrityViolationException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Category with this name already exists");
+        }
+    }
+
     private CategoryEntity toEntity(CategoryDTO categoryDTO, ProfileEntity profile) {
         return CategoryEntity.builder()
                 .name(categoryDTO.getName())
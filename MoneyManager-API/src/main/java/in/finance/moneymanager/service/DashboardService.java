@@ -1,65 +1,202 @@
 package in.finance.moneymanager.service;
 
+import in.finance.moneymanager.dto.CursorPageDTO;
 import in.finance.moneymanager.dto.ExpenseDTO;
 import in.finance.moneymanager.dto.IncomeDTO;
 import in.finance.moneymanager.dto.RecentTransactionDTO;
-import in.finance.moneymanager.entity.ProfileEntity;
-import lombok.RequiredArgsConstructor;
+import in.finance.moneymanager.entity.ProfileSummaryEntity;
+import in.finance.moneymanager.repository.DashboardRepository;
+import in.finance.moneymanager.repository.TransactionRow;
+import in.finance.moneymanager.util.CursorCodec;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Stream;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
 
 @Service
-@RequiredArgsConstructor
 public class DashboardService {
 
-    private final IncomeService incomeService;
-    private final ExpenseService expenseService;
+    private static final int RECENT_LIMIT = 5;
+    private static final int DEFAULT_FEED_LIMIT = 20;
+    private static final int MAX_FEED_LIMIT = 100;
+
+    private final DashboardRepository dashboardRepository;
     private final ProfileService profileService;
+    private final ProfileSummaryService profileSummaryService;
+    private final ExecutorService dashboardQueryExecutor;
+    private final boolean parallel;
+    private final Duration subQueryTimeout;
+    private final TransactionTemplate subQueryTransaction;
+
+    public DashboardService(DashboardRepository dashboardRepository,
+                            ProfileService profileService,
+                            ProfileSummaryService profileSummaryService,
+                            ExecutorService dashboardQueryExecutor,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${app.dashboard.parallel.enabled:true}") boolean parallel,
+                            @Value("${app.dashboard.parallel.sub-query-timeout:3s}") Duration subQueryTimeout) {
+        this.dashboardRepository = dashboardRepository;
+        this.profileService = profileService;
+        this.profileSummaryService = profileSummaryService;
+        this.dashboardQueryExecutor = dashboardQueryExecutor;
+        this.parallel = parallel;
+        this.subQueryTimeout = subQueryTimeout;
+        // The future gives up after subQueryTimeout; the transaction timeout, a second longer, becomes the JDBC
+        // query timeout, so the statement itself is cancelled and its connection returned to the pool
+        this.subQueryTransaction = new TransactionTemplate(transactionManager);
+        this.subQueryTransaction.setReadOnly(true);
+        this.subQueryTransaction.setTimeout((int) Math.ceil(subQueryTimeout.toMillis() / 1000.0) + 1);
+    }
 
+    // Two round trips: the profile's summary row for the totals, one UNION ALL for the latest incomes and expenses.
+    // In parallel mode they run at the same time on separate connections, so latency is the slower one, not the sum.
     public Map<String, Object> getDashboardData(){
-        ProfileEntity profile = profileService.getCurrentProfile();
+        // Resolve the profile on the request thread; the sub-queries only need its id
+        Long profileId = profileService.getCurrentProfileId();
         Map<String, Object> returnValue = new LinkedHashMap<>();
-        List<IncomeDTO> latestIncomes = incomeService.getLatest5IncomesForCurrentUser();
-        List<ExpenseDTO> latestExpenses = expenseService.getLatest5ExpensesForCurrentUser();
-        List<RecentTransactionDTO> recentTransactions = Stream.concat(latestIncomes.stream().map(income ->
-                RecentTransactionDTO.builder()
-                        .id(income.getId())
-                        .profileId(profile.getId())
-                        .icon(income.getIcon())
-                        .name(income.getName())
-                        .amount(income.getAmount())
-                        .date(income.getDate())
-                        .createdAt(income.getCreatedAt())
-                        .updatedAt(income.getUpdatedAt())
-                        .type("income")
-                        .build()),
-                latestExpenses.stream().map(expense ->
-                        RecentTransactionDTO.builder()
-                                .id(expense.getId())
-                                .profileId(profile.getId())
-                                .icon(expense.getIcon())
-                                .name(expense.getName())
-                                .amount(expense.getAmount())
-                                .date(expense.getDate())
-                                .createdAt(expense.getCreatedAt())
-                                .updatedAt(expense.getUpdatedAt())
-                                .type("expense")
-                                .build()))
-                .sorted((a, b) -> b.getDate().compareTo(a.getDate()))
+        ProfileSummaryEntity totals;
+        List<TransactionRow> latest;
+        if (parallel) {
+            CompletableFuture<ProfileSummaryEntity> totalsFuture =
+                    fork(() -> profileSummaryService.getSummary(profileId));
+            CompletableFuture<List<TransactionRow>> latestFuture =
+                    fork(() -> dashboardRepository.findLatestTransactionsByProfileId(profileId, RECENT_LIMIT));
+            totals = join(totalsFuture);
+            latest = join(latestFuture);
+        } else {
+            totals = profileSummaryService.getSummary(profileId);
+            latest = dashboardRepository.findLatestTransactionsByProfileId(profileId, RECENT_LIMIT);
+        }
+
+        List<IncomeDTO> latestIncomes = latest.stream()
+                .filter(row -> "income".equals(row.getType()))
+                .map(this::toIncomeDTO)
+                .toList();
+        List<ExpenseDTO> latestExpenses = latest.stream()
+                .filter(row -> "expense".equals(row.getType()))
+                .map(this::toExpenseDTO)
+                .toList();
+        // Rows arrive newest first from the database
+        List<RecentTransactionDTO> recentTransactions = latest.stream()
+                .map(row -> toRecentTransactionDTO(row, profileId))
                 .toList();
 
-        returnValue.put("totalBalance",
-                incomeService.getTotalIncomeForCurrentUser()
-                        .subtract(expenseService.getTotalExpenseForCurrentUser()));
-        returnValue.put("totalIncome", incomeService.getTotalIncomeForCurrentUser());
-        returnValue.put("totalExpense", expenseService.getTotalExpenseForCurrentUser());
+        returnValue.put("totalBalance", totals.getTotalIncome().subtract(totals.getTotalExpense()));
+        returnValue.put("totalIncome", totals.getTotalIncome());
+        returnValue.put("totalExpense", totals.getTotalExpense());
         returnValue.put("recent5Expenses", latestExpenses);
         returnValue.put("recent5Incomes", latestIncomes);
         returnValue.put("recentTransactions", recentTransactions);
         return returnValue;
     }
+
+    // Recent activity feed: incomes and expenses merged and paged by the database, newest first
+    public CursorPageDTO<RecentTransactionDTO> getRecentActivity(Integer limit, String cursor) {
+        Long profileId = profileService.getCurrentProfileId();
+        int pageSize = limit == null ? DEFAULT_FEED_LIMIT : Math.clamp(limit, 1, MAX_FEED_LIMIT);
+        // One extra row tells whether another page exists
+        List<RecentTransactionDTO> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = dashboardRepository.findRecentTransactions(profileId, pageSize + 1);
+        } else {
+            String[] key = CursorCodec.decode(cursor, 4);
+            try {
+                rows = dashboardRepository.findRecentTransactionsAfter(profileId,
+                        LocalDate.parse(key[0]), LocalDateTime.parse(key[1]), Long.valueOf(key[2]), key[3], pageSize + 1);
+            } catch (DateTimeParseException | NumberFormatException e) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+            }
+        }
+        boolean hasMore = rows.size() > pageSize;
+        List<RecentTransactionDTO> items = hasMore ? rows.subList(0, pageSize) : rows;
+        String nextCursor = null;
+        if (hasMore) {
+            RecentTransactionDTO last = items.getLast();
+            nextCursor = CursorCodec.encode(last.getDate(), last.getCreatedAt(), last.getId(), last.getType());
+        }
+        return CursorPageDTO.<RecentTransactionDTO>builder()
+                .items(items)
+                .nextCursor(nextCursor)
+                .hasMore(hasMore)
+                .build();
+    }
+
+    //helper methods
+    private <T> CompletableFuture<T> fork(Supplier<T> subQuery) {
+        return CompletableFuture.supplyAsync(() -> subQueryTransaction.execute(status -> subQuery.get()),
+                        dashboardQueryExecutor)
+                .orTimeout(subQueryTimeout.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof TimeoutException) {
+                throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Dashboard query timed out");
+            }
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw e;
+        }
+    }
+
+    private IncomeDTO toIncomeDTO(TransactionRow row) {
+        return IncomeDTO.builder()
+                .id(row.getId())
+                .name(row.getName())
+                .icon(row.getIcon())
+                .categoryId(row.getCategoryId())
+                .categoryName(row.getCategoryName())
+                .amount(row.getAmount())
+                .date(row.getDate())
+                .createdAt(row.getCreatedAt())
+                .updatedAt(row.getUpdatedAt())
+                .build();
+    }
+
+    private ExpenseDTO toExpenseDTO(TransactionRow row) {
+        return ExpenseDTO.builder()
+                .id(row.getId())
+                .name(row.getName())
+                .icon(row.getIcon())
+                .categoryId(row.getCategoryId())
+                .categoryName(row.getCategoryName())
+                .amount(row.getAmount())
+                .date(row.getDate())
+                .createdAt(row.getCreatedAt())
+                .updatedAt(row.getUpdatedAt())
+                .build();
+    }
+
+    private RecentTransactionDTO toRecentTransactionDTO(TransactionRow row, Long profileId) {
+        return RecentTransactionDTO.builder()
+                .id(row.getId())
+                .profileId(profileId)
+                .icon(row.getIcon())
+                .name(row.getName())
+                .amount(row.getAmount())
+                .date(row.getDate())
+                .createdAt(row.getCreatedAt())
+                .updatedAt(row.getUpdatedAt())
+                .type(row.getType())
+                .build();
+    }
 }
@@ -0,0 +1,24 @@
+package in.finance.moneymanager.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+// Builds strong ETags from the current profile's data version, so unchanged reads can be answered with 304
+@Service
+@RequiredArgsConstructor
+public class DataVersionService {
+
+    private final ProfileService profileService;
+    private final ProfileSummaryService profileSummaryService;
+
+    // Qualifiers cover inputs other than stored data, e.g. the month for current-month listings
+    public String currentETag(Object... qualifiers) {
+        Long profileId = profileService.getCurrentProfileId();
+        StringBuilder eTag = new StringBuilder("\"")
+                .append(profileId).append('-').append(profileSummaryService.getDataVersion(profileId));
+        for (Object qualifier : qualifiers) {
+            eTag.append('-').append(qualifier);
+        }
+        return eTag.append('"').toString();
+    }
+}
@@ -25,7 +25,7 @@ public class EmailService {
     @Value("${brevo.api.url:https://api.brevo.com/v3/smtp/email}")
     private String url;
 
-    private final RestTemplate restTemplate = new RestTemplate();
+    private final RestTemplate restTemplate;
 
     //Sends a simple email using Brevo API (HTML supported).
     public void sendEmail(String to, String subject, String body) {
@@ -2,65 +2,193 @@ package in.finance.moneymanager.service;
 
 import in.finance.moneymanager.dto.ExpenseDTO;
 import in.finance.moneymanager.dto.IncomeDTO;
+import in.finance.moneymanager.dto.TransactionDTO;
+import org.apache.poi.UnsupportedFileFormatException;
+import org.apache.poi.ooxml.POIXMLException;
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.SpreadsheetVersion;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.usermodel.DateUtil;
 import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.ss.usermodel.Sheet;
-import org.apache.poi.ss.usermodel.Workbook;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.apache.poi.xssf.usermodel.XSSFComment;
 import org.springframework.stereotype.Service;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
 
+import javax.xml.parsers.ParserConfigurationException;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
-import java.util.stream.IntStream;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.ObjIntConsumer;
 
+// Workbooks are written with SXSSF: only the last ROW_WINDOW rows stay in memory, older ones are flushed
+// to a compressed temp file, so heap use is the same for ten rows or a million
 @Service
 public class ExcelService {
 
+    private static final int ROW_WINDOW = 100;
+    private static final int MAX_ROWS_PER_SHEET = SpreadsheetVersion.EXCEL2007.getMaxRows();
+    private static final List<String> HEADERS = List.of("S.No", "Name", "Category", "Amount", "Date");
+
     public void writeIncomesToExcel(OutputStream os, List<IncomeDTO> incomes) throws IOException {
-        try(Workbook workbook = new XSSFWorkbook()) {
-            Sheet sheet = workbook.createSheet("Incomes");
-            Row header = sheet.createRow(0);
-            header.createCell(0).setCellValue("S.No");
-            header.createCell(1).setCellValue("Name");
-            header.createCell(2).setCellValue("Category");
-            header.createCell(3).setCellValue("Amount");
-            header.createCell(4).setCellValue("Date");
-            IntStream.range(0, incomes.size())
-                    .forEach(i -> {
-                        IncomeDTO income = incomes.get(i);
-                        Row row = sheet.createRow(i + 1);
-                        row.createCell(0).setCellValue(i + 1);
-                        row.createCell(1).setCellValue(income.getName() != null ? income.getName(): "N/A");
-                        row.createCell(2).setCellValue(income.getCategoryId() != null ? income.getCategoryName(): "N/A");
-                        row.createCell(3).setCellValue(income.getAmount() != null ? income.getAmount().doubleValue(): 0);
-                        row.createCell(4).setCellValue(income.getDate() != null ? income.getDate().toString(): "N/A");
-                    });
-            workbook.write(os);
-        }
+        writeIncomesToExcel(os, incomes::forEach);
+    }
+
+    // Streaming form: source pushes every income into the consumer it is given, e.g. while reading a database cursor
+    public void writeIncomesToExcel(OutputStream os, Consumer<Consumer<IncomeDTO>> source) throws IOException {
+        writeSheets(os, "Incomes", HEADERS, source, (row, income) -> {
+            row.createCell(1).setCellValue(income.getName() != null ? income.getName(): "N/A");
+            row.createCell(2).setCellValue(income.getCategoryId() != null ? income.getCategoryName(): "N/A");
+            row.createCell(3).setCellValue(income.getAmount() != null ? income.getAmount().doubleValue(): 0);
+            row.createCell(4).setCellValue(income.getDate() != null ? income.getDate().toString(): "N/A");
+        });
     }
 
     public void writeExpensesToExcel(OutputStream os, List<ExpenseDTO> expenses) throws IOException {
-        try (Workbook workbook = new XSSFWorkbook()) {
-            Sheet sheet = workbook.createSheet("Expenses");
-            Row header = sheet.createRow(0);
-            header.createCell(0).setCellValue("S.No");
-            header.createCell(1).setCellValue("Name");
-            header.createCell(2).setCellValue("Category");
-            header.createCell(3).setCellValue("Amount");
-            header.createCell(4).setCellValue("Date");
-            IntStream.range(0, expenses.size())
-                    .forEach(i -> {
-                        ExpenseDTO expense = expenses.get(i);
-                        Row row = sheet.createRow(i + 1);
-                        row.createCell(0).setCellValue(i + 1); // Serial number
-                        row.createCell(1).setCellValue(expense.getName() != null ? expense.getName() : "");
-                        row.createCell(2)
-                                .setCellValue(expense.getCategoryId() != null ? expense.getCategoryName() : "N/A");
-                        row.createCell(3)
-                                .setCellValue(expense.getAmount() != null ? expense.getAmount().doubleValue() : 0);
-                        row.createCell(4).setCellValue(expense.getDate() != null ? expense.getDate().toString() : "");
-                    });
-            workbook.write(os);
+        writeExpensesToExcel(os, expenses::forEach);
+    }
+
+    public void writeExpensesToExcel(OutputStream os, Consumer<Consumer<ExpenseDTO>> source) throws IOException {
+        writeSheets(os, "Expenses", HEADERS, source, (row, expense) -> {
+            row.createCell(1).setCellValue(expense.getName() != null ? expense.getName() : "");
+            row.createCell(2)
+                    .setCellValue(expense.getCategoryId() != null ? expense.getCategoryName() : "N/A");
+            row.createCell(3)
+                    .setCellValue(expense.getAmount() != null ? expense.getAmount().doubleValue() : 0);
+            row.createCell(4).setCellValue(expense.getDate() != null ? expense.getDate().toString() : "");
+        });
+    }
+
+    // Incomes and expenses in one sheet, with a Type column saying which each row is
+    public void writeTransactionsToExcel(OutputStream os, Consumer<Consumer<TransactionDTO>> source) throws IOException {
+        List<String> headers = new ArrayList<>(HEADERS);
+        headers.add("Type");
+        writeSheets(os, "Transactions", headers, source, (row, transaction) -> {
+            row.createCell(1).setCellValue(transaction.getName() != null ? transaction.getName() : "");
+            row.createCell(2)
+                    .setCellValue(transaction.getCategoryId() != null ? transaction.getCategoryName() : "N/A");
+            row.createCell(3)
+                    .setCellValue(transaction.getAmount() != null ? transaction.getAmount().doubleValue() : 0);
+            row.createCell(4).setCellValue(transaction.getDate() != null ? transaction.getDate().toString() : "");
+            row.createCell(5).setCellValue(transaction.getType());
+        });
+    }
+
+    // Reads the first sheet with the SAX event API, so only the current row is held in memory.
+    // Handler gets each non-empty row's cell texts by column and its 1-based row number. Date cells come
+    // back as ISO dates and other numbers unformatted, whatever the cell's display format.
+    public void readFirstSheet(Path file, ObjIntConsumer<List<String>> handler) throws IOException {
+        try (OPCPackage pkg = OPCPackage.open(file.toFile(), PackageAccess.READ)) {
+            XSSFReader reader = new XSSFReader(pkg);
+            Iterator<InputStream> sheets = reader.getSheetsData();
+            if (!sheets.hasNext()) {
+                return;
+            }
+            XMLReader parser = XMLHelper.newXMLReader();
+            parser.setContentHandler(new XSSFSheetXMLHandler(reader.getStylesTable(), null,
+                    new ReadOnlySharedStringsTable(pkg), new RowCollector(handler), new RawValueFormatter(), false));
+            try (InputStream sheet = sheets.next()) {
+                parser.parse(new InputSource(sheet));
+            }
+        } catch (OpenXML4JException | UnsupportedFileFormatException | POIXMLException | SAXException
+                 | ParserConfigurationException e) {
+            throw new IOException("Not a readable .xlsx file", e);
+        }
+    }
+
+    //helper methods
+    // Header plus one row per item with its serial number; a full sheet continues on "<name> (2)" and so on
+    private <D> void writeSheets(OutputStream os, String sheetName, List<String> headers,
+                                 Consumer<Consumer<D>> source, BiConsumer<Row, D> cells) throws IOException {
+        try (SXSSFWorkbook workbook = new SXSSFWorkbook(ROW_WINDOW)) {
+            workbook.setCompressTempFiles(true);
+            try {
+                long[] serial = {0};
+                int[] nextRow = {1};
+                Sheet[] sheet = {newSheet(workbook, sheetName, headers)};
+                source.accept(item -> {
+                    if (nextRow[0] == MAX_ROWS_PER_SHEET) {
+                        String name = sheetName + " (" + (workbook.getNumberOfSheets() + 1) + ")";
+                        sheet[0] = newSheet(workbook, name, headers);
+                        nextRow[0] = 1;
+                    }
+                    Row row = sheet[0].createRow(nextRow[0]++);
+                    row.createCell(0).setCellValue(++serial[0]); // Serial number
+                    cells.accept(row, item);
+                });
+                workbook.write(os);
+            } finally {
+                workbook.dispose();
+            }
+        }
+    }
+
+    private Sheet newSheet(SXSSFWorkbook workbook, String name, List<String> headers) {
+        Sheet sheet = workbook.createSheet(name);
+        Row header = sheet.createRow(0);
+        for (int i = 0; i < headers.size(); i++) {
+            header.createCell(i).setCellValue(headers.get(i));
+        }
+        return sheet;
+    }
+
+    // Gathers one row's cells, leaving gaps for blank cells, and hands the row over when it ends
+    private static final class RowCollector implements XSSFSheetXMLHandler.SheetContentsHandler {
+
+        private final ObjIntConsumer<List<String>> handler;
+        private final List<String> cells = new ArrayList<>();
+
+        private RowCollector(ObjIntConsumer<List<String>> handler) {
+            this.handler = handler;
+        }
+
+        @Override
+        public void startRow(int rowNum) {
+            cells.clear();
+        }
+
+        @Override
+        public void endRow(int rowNum) {
+            if (!cells.isEmpty()) {
+                handler.accept(new ArrayList<>(cells), rowNum + 1);
+            }
+        }
+
+        @Override
+        public void cell(String cellReference, String formattedValue, XSSFComment comment) {
+            int column = cellReference != null ? new CellReference(cellReference).getCol() : cells.size();
+            while (cells.size() < column) {
+                cells.add("");
+            }
+            cells.add(formattedValue);
+        }
+    }
+
+    private static final class RawValueFormatter extends DataFormatter {
+
+        @Override
+        public String formatRawCellContents(double value, int formatIndex, String formatString, boolean use1904Windowing) {
+            if (DateUtil.isADateFormat(formatIndex, formatString) && DateUtil.isValidExcelDate(value)) {
+                return DateUtil.getLocalDateTime(value, use1904Windowing).toLocalDate().toString();
+            }
+            return BigDecimal.valueOf(value).stripTrailingZeros().toPlainString();
         }
     }
 }
@@ -1,18 +1,30 @@
 package in.finance.moneymanager.service;
 
+import in.finance.moneymanager.dto.CursorPageDTO;
 import in.finance.moneymanager.dto.ExpenseDTO;
 import in.finance.moneymanager.entity.CategoryEntity;
 import in.finance.moneymanager.entity.ExpenseEntity;
 import in.finance.moneymanager.entity.ProfileEntity;
 import in.finance.moneymanager.repository.CategoryRepository;
 import in.finance.moneymanager.repository.ExpenseRepository;
+import in.finance.moneymanager.repository.KeywordSearch;
+import in.finance.moneymanager.repository.TransactionFilter;
+import in.finance.moneymanager.repository.TransactionKeyset;
+import in.finance.moneymanager.repository.TransactionSortField;
+import in.finance.moneymanager.repository.TransactionSpecifications;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -21,36 +33,47 @@ public class ExpenseService {
     private final CategoryRepository categoryRepository;
     private final ExpenseRepository expenseRepository;
     private final ProfileService profileService;
+    private final ProfileSummaryService profileSummaryService;
+    private final RollupService rollupService;
+    private final KeywordSearch keywordSearch;
+    private final TransactionStreamer transactionStreamer;
+    private final ExcelService excelService;
 
     //Retrieves all expenses for current month/based on the start and end date
     public List<ExpenseDTO> getCurrentMonthExpensesForCurrentUser() {
-        ProfileEntity profile = profileService.getCurrentProfile();
+        Long profileId = profileService.getCurrentProfileId();
         LocalDate now = LocalDate.now();
         LocalDate startDate = now.withDayOfMonth(1);
         LocalDate endDate = now.withDayOfMonth(now.lengthOfMonth());
-        List<ExpenseEntity> list = expenseRepository.findByProfileIdAndDateBetween(profile.getId(), startDate, endDate);
-        return list.stream().map(this::toDTO).toList();
+        return expenseRepository.findDTOsByProfileIdAndDateBetween(profileId, startDate, endDate);
     }
 
     //Add new expense to the database
+    @Transactional
     public ExpenseDTO addExpense(ExpenseDTO expenseDTO) {
-        ProfileEntity profile = profileService.getCurrentProfile();
+        ProfileEntity profile = profileService.getCurrentProfileReference();
         CategoryEntity category = categoryRepository.findById(expenseDTO.getCategoryId())
                 .orElseThrow(() -> new RuntimeException("Category not found"));
         ExpenseEntity newExpense = toEntity(expenseDTO, profile, category);
         newExpense = expenseRepository.save(newExpense);
+        profileSummaryService.applyExpense(profile.getId(), newExpense.getAmount(), 1);
+        rollupService.apply(profile.getId(), category.getId(), RollupService.EXPENSE, newExpense.getDate(), newExpense.getAmount(), 1);
         return toDTO(newExpense);
     }
 
     // ✅ Update existing expense
+    @Transactional
     public ExpenseDTO updateExpense(Long id, ExpenseDTO expenseDTO) {
-        ProfileEntity profile = profileService.getCurrentProfile();
+        Long profileId = profileService.getCurrentProfileId();
         ExpenseEntity existing = expenseRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Expense not found"));
 
-        if (!existing.getProfile().getId().equals(profile.getId())) {
+        if (!existing.getProfile().getId().equals(profileId)) {
             throw new RuntimeException("Unauthorized to update this expense");
         }
+        BigDecimal previousAmount = existing.getAmount();
+        LocalDate previousDate = existing.getDate();
+        Long previousCategoryId = existing.getCategory() != null ? existing.getCategory().getId() : null;
 
         // Update only provided fields
         if (expenseDTO.getName() != null && !expenseDTO.getName().isBlank()) {
@@ -72,49 +95,160 @@ public class ExpenseService {
         }
 
         ExpenseEntity updated = expenseRepository.save(existing);
+        profileSummaryService.applyExpense(profileId, amountDelta(previousAmount, updated.getAmount()), 0);
+        rollupService.move(profileId, RollupService.EXPENSE, previousCategoryId, previousDate, previousAmount,
+                updated.getCategory().getId(), updated.getDate(), updated.getAmount());
         return toDTO(updated);
     }
 
     //delete expense by id for current user
+    @Transactional
     public void deleteExpense(Long expenseId) {
-        ProfileEntity profile = profileService.getCurrentProfile();
+        Long profileId = profileService.getCurrentProfileId();
         ExpenseEntity entity = expenseRepository.findById(expenseId)
                 .orElseThrow(() -> new RuntimeException("Expense not found"));
-        if (!entity.getProfile().getId().equals(profile.getId())) {
+        if (!entity.getProfile().getId().equals(profileId)) {
             throw new RuntimeException("Unauthorized to delete this expense");
         }
         expenseRepository.delete(entity);
+        profileSummaryService.applyExpense(profileId, amountDelta(entity.getAmount(), null), -1);
+        rollupService.apply(profileId, entity.getCategory().getId(), RollupService.EXPENSE, entity.getDate(),
+                amountDelta(entity.getAmount(), null), -1);
     }
 
     //Get latest 5 expenses for current user
     public List<ExpenseDTO> getLatest5ExpensesForCurrentUser() {
-        ProfileEntity profile = profileService.getCurrentProfile();
-        List<ExpenseEntity> list = expenseRepository.findTop5ByProfileIdOrderByDateDesc(profile.getId());
-        return list.stream().map(this::toDTO).toList();
+        Long profileId = profileService.getCurrentProfileId();
+        return expenseRepository.findLatestDTOs(profileId, Limit.of(5));
     }
 
     //get total expense for current user
     public BigDecimal getTotalExpenseForCurrentUser() {
-        ProfileEntity profile = profileService.getCurrentProfile();
-        BigDecimal totalExpense = expenseRepository.findTotalExpenseByProfileId(profile.getId());
-        return totalExpense != null ? totalExpense : BigDecimal.ZERO;
+        Long profileId = profileService.getCurrentProfileId();
+        return profileSummaryService.getSummary(profileId).getTotalExpense();
     }
 
     //filter expenses
-    public List<ExpenseDTO> filterExpenses(LocalDate startDate, LocalDate endDate, String keyword, Sort sort) {
-        ProfileEntity profile = profileService.getCurrentProfile();
-        List<ExpenseEntity> filteredExpenses = expenseRepository.findByProfileIdAndDateBetweenAndNameContainingIgnoreCase(
-                profile.getId(), startDate, endDate, keyword, sort);
+    // Sorting by "relevance" ranks keyword matches best first
+    @Transactional(readOnly = true)
+    public List<ExpenseDTO> filterExpenses(TransactionFilter filter, Sort sort) {
+        Long profileId = profileService.getCurrentProfileId();
+        Specification<ExpenseEntity> spec = filterSpecification(profileId, filter).and(orderSpecification(filter, sort));
+        List<ExpenseEntity> filteredExpenses = expenseRepository.findAll(spec);
         return filteredExpenses.stream().map(this::toDTO).toList();
     }
 
+    // Same results as filterExpenses, written to out in the given format row by row
+    @Transactional(readOnly = true)
+    public void writeFilteredExpenses(TransactionFilter filter, Sort sort, ExportFormat format, OutputStream out)
+            throws IOException {
+        writeFilteredExpenses(profileService.getCurrentProfileId(), filter, sort, format, out);
+    }
+
+    // Same for an explicit profile, for work done outside the user's request (export jobs)
+    @Transactional(readOnly = true)
+    public void writeFilteredExpenses(Long profileId, TransactionFilter filter, Sort sort, ExportFormat format,
+                                    OutputStream out) throws IOException {
+        Specification<ExpenseEntity> spec = filterSpecification(profileId, filter).and(orderSpecification(filter, sort));
+        if (format == ExportFormat.XLSX) {
+            excelService.writeExpensesToExcel(out, sink ->
+                    transactionStreamer.forEach(ExpenseEntity.class, spec, Sort.unsorted(), row -> sink.accept(toDTO(row))));
+            return;
+        }
+        transactionStreamer.write(format, ExpenseEntity.class, spec, Sort.unsorted(), this::toDTO,
+                TransactionStreamer.CSV_COLUMNS, out);
+    }
+
+    // All expenses in the date range, oldest first, written to out as a JSON array row by row
+    @Transactional(readOnly = true)
+    public void writeExpenses(LocalDate startDate, LocalDate endDate, OutputStream out) throws IOException {
+        Long profileId = profileService.getCurrentProfileId();
+        transactionStreamer.writeJsonArray(ExpenseEntity.class, rangeSpecification(profileId, startDate, endDate),
+                Sort.by("date", "id"), this::toDTO, out);
+    }
+
+    // All expenses in the date range, oldest first, as an xlsx built while rows are read from the cursor
+    @Transactional(readOnly = true)
+    public void exportExpensesToExcel(LocalDate startDate, LocalDate endDate, OutputStream out) throws IOException {
+        Long profileId = profileService.getCurrentProfileId();
+        Specification<ExpenseEntity> spec = rangeSpecification(profileId, startDate, endDate);
+        excelService.writeExpensesToExcel(out, sink ->
+                transactionStreamer.forEach(ExpenseEntity.class, spec, Sort.by("date", "id"), row -> sink.accept(toDTO(row))));
+    }
+
+    // One page of filter results, seeking past the cursor on (sort key, id); never counts or loads the full range
+    @Transactional(readOnly = true)
+    public CursorPageDTO<ExpenseDTO> filterExpensesPage(TransactionFilter filter, TransactionSortField sortField,
+                                                        Sort.Direction direction, int pageSize, String cursor) {
+        TransactionKeyset after = cursor != null && !cursor.isBlank()
+                ? TransactionKeyset.decode(cursor, sortField, direction)
+                : null;
+        // One extra row tells whether another page exists
+        List<ExpenseDTO> rows = filterExpensesAfter(filter, sortField, direction, after, pageSize + 1);
+        boolean hasMore = rows.size() > pageSize;
+        List<ExpenseDTO> page = hasMore ? rows.subList(0, pageSize) : rows;
+        return CursorPageDTO.<ExpenseDTO>builder()
+                .items(page)
+                .nextCursor(hasMore ? TransactionKeyset.encode(page.getLast(), sortField, direction) : null)
+                .hasMore(hasMore)
+                .build();
+    }
+
+    // Up to limit filter results in keyset order, starting after the given position (from the start when null)
+    @Transactional(readOnly = true)
+    public List<ExpenseDTO> filterExpensesAfter(TransactionFilter filter, TransactionSortField sortField,
+                                                Sort.Direction direction, TransactionKeyset after, int limit) {
+        Long profileId = profileService.getCurrentProfileId();
+        Specification<ExpenseEntity> spec = filterSpecification(profileId, filter)
+                .and(TransactionSpecifications.orderedBy(sortField, direction));
+        if (after != null) {
+            spec = spec.and(TransactionSpecifications.after(after));
+        }
+        List<ExpenseEntity> rows = expenseRepository.findBy(spec, query -> query.limit(limit).all());
+        return rows.stream().map(this::toDTO).toList();
+    }
+
     //Notifications
     public List<ExpenseDTO> getExpensesForUserOnDate(Long profileId, LocalDate date) {
-        List<ExpenseEntity> list = expenseRepository.findByProfileIdAndDate(profileId, date);
-        return list.stream().map(this::toDTO).toList();
+        return expenseRepository.findDTOsByProfileIdAndDate(profileId, date);
+    }
+
+    // Every filter result in the same keyset order as filterExpensesAfter, read through a cursor. Call inside a
+    // read-only transaction and close the stream before it ends.
+    public Stream<ExpenseDTO> streamFilteredExpenses(Long profileId, TransactionFilter filter,
+                                                     TransactionSortField sortField, Sort.Direction direction) {
+        Specification<ExpenseEntity> spec = filterSpecification(profileId, filter)
+                .and(TransactionSpecifications.orderedBy(sortField, direction));
+        return transactionStreamer.stream(ExpenseEntity.class, spec, Sort.unsorted(), this::toDTO);
     }
 
     //helper methods
+    private Specification<ExpenseEntity> rangeSpecification(Long profileId, LocalDate startDate, LocalDate endDate) {
+        return Specification.allOf(
+                TransactionSpecifications.ownedBy(profileId),
+                TransactionSpecifications.dateBetween(startDate, endDate),
+                TransactionSpecifications.fetchCategory());
+    }
+
+    private Specification<ExpenseEntity> filterSpecification(Long profileId, TransactionFilter filter) {
+        return Specification.allOf(
+                TransactionSpecifications.ownedBy(profileId),
+                TransactionSpecifications.matching(filter),
+                keywordSearch.matches(filter.getKeyword()),
+                TransactionSpecifications.fetchCategory());
+    }
+
+    // Relevance ranks keyword matches; other sorts use the keyset order, so null amounts and names sort as 0 and ""
+    private Specification<ExpenseEntity> orderSpecification(TransactionFilter filter, Sort sort) {
+        return KeywordSearch.isRelevanceSort(sort)
+                ? keywordSearch.orderedByRelevance(filter.getKeyword())
+                : TransactionSpecifications.orderedBy(sort);
+    }
+
+    private BigDecimal amountDelta(BigDecimal before, BigDecimal after) {
+        return (after != null ? after : BigDecimal.ZERO).subtract(before != null ? before : BigDecimal.ZERO);
+    }
+
     private ExpenseEntity toEntity(ExpenseDTO expenseDTO, ProfileEntity profile, CategoryEntity category) {
         return ExpenseEntity.builder()
                 .name(expenseDTO.getName())
@@ -0,0 +1,48 @@
+package in.finance.moneymanager.service;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Arrays;
+
+// Formats transaction listings can be written in
+public enum ExportFormat {
+
+    // One JSON array
+    JSON("application/json", "json"),
+    // One JSON object per line
+    NDJSON("application/x-ndjson", "ndjson"),
+    // Header line, then one line per row
+    CSV("text/csv", "csv"),
+    // Excel workbook, written by ExcelService
+    XLSX("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet", "xlsx");
+
+    private final String contentType;
+    private final String extension;
+
+    ExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    // Download name for a listing type: income.csv, expense.csv, or transactions.csv for both merged
+    public String filename(String type) {
+        return (TransactionService.ALL.equals(type) ? "transactions" : type) + "." + extension;
+    }
+
+    public static ExportFormat parse(String format) {
+        return Arrays.stream(values())
+                .filter(value -> value.extension.equalsIgnoreCase(format))
+                .findFirst()
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        "Invalid format. Must be one of json, ndjson, csv, xlsx."));
+    }
+}
@@ -0,0 +1,263 @@
+package in.finance.moneymanager.service;
+
+import in.finance.moneymanager.dto.ExportJobDTO;
+import in.finance.moneymanager.repository.TransactionFilter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+// Runs transaction exports in the background and keeps the files in a local directory until they expire.
+// Jobs are tracked in memory on the node that ran them, next to their files.
+@Slf4j
+@Service
+public class ExportJobService {
+
+    public static final String QUEUED = "QUEUED";
+    public static final String RUNNING = "RUNNING";
+    public static final String DONE = "DONE";
+    public static final String FAILED = "FAILED";
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final String PART_EXTENSION = "part";
+    // <job uuid>.part while written, <job uuid>.<format extension> when done; nothing else is ours to delete
+    private static final Pattern JOB_FILE = Pattern.compile(
+            "[0-9a-f]{8}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{12}\\.(" + PART_EXTENSION + "|"
+                    + Arrays.stream(ExportFormat.values()).map(ExportFormat::getExtension)
+                    .collect(Collectors.joining("|")) + ")");
+
+    private final IncomeService incomeService;
+    private final ExpenseService expenseService;
+    private final TransactionService transactionService;
+    private final ExecutorService exportJobExecutor;
+    private final Path directory;
+    private final Duration ttl;
+    private final Duration downloadGrace;
+    private final int maxActivePerProfile;
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+    // Queued and running jobs per profile; slots are taken and given back atomically, so parallel
+    // submits can't overshoot the limit
+    private final Map<Long, Integer> activeByProfile = new ConcurrentHashMap<>();
+
+    public ExportJobService(IncomeService incomeService,
+                            ExpenseService expenseService,
+                            TransactionService transactionService,
+                            ExecutorService exportJobExecutor,
+                            @Value("${app.export.jobs.directory:${java.io.tmpdir}/moneymanager-exports}") Path directory,
+                            @Value("${app.export.jobs.ttl:1h}") Duration ttl,
+                            @Value("${app.export.jobs.download-grace:15m}") Duration downloadGrace,
+                            @Value("${app.export.jobs.max-active-per-profile:3}") int maxActivePerProfile) throws IOException {
+        this.incomeService = incomeService;
+        this.expenseService = expenseService;
+        this.transactionService = transactionService;
+        this.exportJobExecutor = exportJobExecutor;
+        this.directory = Files.createDirectories(directory);
+        this.ttl = ttl;
+        this.downloadGrace = downloadGrace;
+        this.maxActivePerProfile = maxActivePerProfile;
+    }
+
+    // A finished export's file, with what the download response needs to describe it
+    public record ExportFile(Path path, ExportFormat format, String filename, String id) {
+    }
+
+    // Queues the export and returns at once; type is "income", "expense" or "all"
+    public ExportJobDTO submit(Long profileId, String type, TransactionFilter filter, Sort sort, ExportFormat format) {
+        if (!reserveSlot(profileId)) {
+            throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS,
+                    "Too many exports in progress. Wait for one to finish.");
+        }
+        Job job = new Job(UUID.randomUUID().toString(), profileId, type, format);
+        jobs.put(job.id, job);
+        try {
+            exportJobExecutor.execute(() -> run(job, filter, sort));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.id);
+            releaseSlot(profileId);
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Export queue is full. Please try again shortly.");
+        }
+        return toDTO(job);
+    }
+
+    public ExportJobDTO getJob(Long profileId, String id) {
+        return toDTO(find(profileId, id));
+    }
+
+    // 404 for unknown, expired or other profiles' jobs; 409 until the file is complete
+    public ExportFile getFile(Long profileId, String id) {
+        Job job = find(profileId, id);
+        if (!DONE.equals(job.status)) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Export is " + job.status.toLowerCase() + ", not ready for download");
+        }
+        return new ExportFile(job.file, job.format, job.format.filename(job.type), job.id);
+    }
+
+    // Expired jobs can't be found any more, but a download started just before expiry may still be
+    // reading the file; jobs and files are dropped once the download grace period has passed too
+    @Scheduled(fixedDelayString = "${app.export.jobs.cleanup-interval:5m}")
+    public void removeExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        jobs.values().removeIf(job -> {
+            if (job.expiresAt == null || job.expiresAt.plus(downloadGrace).isAfter(now)) {
+                return false;
+            }
+            deleteQuietly(job.file);
+            return true;
+        });
+        removeOrphanedFiles();
+    }
+
+    // Export files no job here knows about, e.g. left by a previous run. The directory may be shared with other
+    // instances (rolling deploys) or hold unrelated files, so only job file names are touched, and only once
+    // they are older than any live job's file could be.
+    @EventListener(ApplicationReadyEvent.class)
+    public void removeOrphanedFiles() {
+        Instant cutoff = Instant.now().minus(ttl).minus(downloadGrace);
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory,
+                file -> JOB_FILE.matcher(file.getFileName().toString()).matches())) {
+            for (Path file : files) {
+                if (!jobs.containsKey(jobId(file)) && Files.getLastModifiedTime(file).toInstant().isBefore(cutoff)) {
+                    deleteQuietly(file);
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Could not clean export directory {}: {}", directory, e.getMessage());
+        }
+    }
+
+    //helper methods
+    // Written to a .part file and renamed when complete, so a download never sees a partial file
+    private void run(Job job, TransactionFilter filter, Sort sort) {
+        job.status = RUNNING;
+        Path part = directory.resolve(job.id + "." + PART_EXTENSION);
+        Path file = directory.resolve(job.id + "." + job.format.getExtension());
+        try {
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(part), BUFFER_SIZE)) {
+                switch (job.type) {
+                    case RollupService.INCOME ->
+                            incomeService.writeFilteredIncomes(job.profileId, filter, sort, job.format, out);
+                    case RollupService.EXPENSE ->
+                            expenseService.writeFilteredExpenses(job.profileId, filter, sort, job.format, out);
+                    default -> transactionService.writeFilteredTransactions(job.profileId, filter, sort, job.format, out);
+                }
+            }
+            Files.move(part, file, StandardCopyOption.ATOMIC_MOVE);
+            job.file = file;
+            job.sizeBytes = Files.size(file);
+            job.status = DONE;
+        } catch (Exception e) {
+            log.warn("Export {} for profile {} failed", job.id, job.profileId, e);
+            deleteQuietly(part);
+            job.error = "Export failed";
+            job.status = FAILED;
+        } finally {
+            releaseSlot(job.profileId);
+        }
+        job.completedAt = LocalDateTime.now();
+        job.expiresAt = job.completedAt.plus(ttl);
+    }
+
+    private boolean reserveSlot(Long profileId) {
+        boolean[] reserved = {false};
+        activeByProfile.compute(profileId, (id, active) -> {
+            int count = active != null ? active : 0;
+            if (count >= maxActivePerProfile) {
+                return active;
+            }
+            reserved[0] = true;
+            return count + 1;
+        });
+        return reserved[0];
+    }
+
+    // The entry goes away with the profile's last active job
+    private void releaseSlot(Long profileId) {
+        activeByProfile.computeIfPresent(profileId, (id, active) -> active > 1 ? active - 1 : null);
+    }
+
+    private Job find(Long profileId, String id) {
+        Job job = jobs.get(id);
+        if (job == null || !job.profileId.equals(profileId)
+                || (job.expiresAt != null && job.expiresAt.isBefore(LocalDateTime.now()))) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Export not found");
+        }
+        return job;
+    }
+
+    private String jobId(Path file) {
+        String name = file.getFileName().toString();
+        return name.substring(0, name.indexOf('.'));
+    }
+
+    private void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete export file {}: {}", file, e.getMessage());
+        }
+    }
+
+    private ExportJobDTO toDTO(Job job) {
+        return ExportJobDTO.builder()
+                .id(job.id)
+                .type(job.type)
+                .format(job.format.getExtension())
+                .status(job.status)
+                .createdAt(job.createdAt)
+                .completedAt(job.completedAt)
+                .expiresAt(job.expiresAt)
+                .sizeBytes(job.sizeBytes)
+                .error(job.error)
+                .build();
+    }
+
+    // Written by the worker, read by request threads
+    private static final class Job {
+
+        private final String id;
+        private final Long profileId;
+        private final String type;
+        private final ExportFormat format;
+        private final LocalDateTime createdAt = LocalDateTime.now();
+        private volatile String status = QUEUED;
+        private volatile Path file;
+        private volatile Long sizeBytes;
+        private volatile String error;
+        private volatile LocalDateTime completedAt;
+        private volatile LocalDateTime expiresAt;
+
+        private Job(String id, Long profileId, String type, ExportFormat format) {
+            this.id = id;
+            this.profileId = profileId;
+            this.type = type;
+            this.format = format;
+        }
+    }
+}
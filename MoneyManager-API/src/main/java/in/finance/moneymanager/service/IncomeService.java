@@ -1,18 +1,30 @@
 package in.finance.moneymanager.service;
 
+import in.finance.moneymanager.dto.CursorPageDTO;
 import in.finance.moneymanager.dto.IncomeDTO;
 import in.finance.moneymanager.entity.CategoryEntity;
 import in.finance.moneymanager.entity.IncomeEntity;
 import in.finance.moneymanager.entity.ProfileEntity;
 import in.finance.moneymanager.repository.CategoryRepository;
 import in.finance.moneymanager.repository.IncomeRepository;
+import in.finance.moneymanager.repository.KeywordSearch;
+import in.finance.moneymanager.repository.TransactionFilter;
+import in.finance.moneymanager.repository.TransactionKeyset;
+import in.finance.moneymanager.repository.TransactionSortField;
+import in.finance.moneymanager.repository.TransactionSpecifications;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -21,36 +33,47 @@ public class IncomeService {
     private final CategoryRepository categoryRepository;
     private final IncomeRepository incomeRepository;
     private final ProfileService profileService;
+    private final ProfileSummaryService profileSummaryService;
+    private final RollupService rollupService;
+    private final KeywordSearch keywordSearch;
+    private final TransactionStreamer transactionStreamer;
+    private final ExcelService excelService;
 
     //Retrieves all incomes for current month/based on the start and end date
     public List<IncomeDTO> getCurrentMonthIncomesForCurrentUser() {
-        ProfileEntity profile = profileService.getCurrentProfile();
+        Long profileId = profileService.getCurrentProfileId();
         LocalDate now = LocalDate.now();
         LocalDate startDate = now.withDayOfMonth(1);
         LocalDate endDate = now.withDayOfMonth(now.lengthOfMonth());
-        List<IncomeEntity> list = incomeRepository.findByProfileIdAndDateBetween(profile.getId(), startDate, endDate);
-        return list.stream().map(this::toDTO).toList();
+        return incomeRepository.findDTOsByProfileIdAndDateBetween(profileId, startDate, endDate);
     }
 
     //Add new income to the database
+    @Transactional
     public IncomeDTO addIncome(IncomeDTO incomeDTO) {
-        ProfileEntity profile = profileService.getCurrentProfile();
+        ProfileEntity profile = profileService.getCurrentProfileReference();
         CategoryEntity category = categoryRepository.findById(incomeDTO.getCategoryId())
                 .orElseThrow(() -> new RuntimeException("Category not found"));
         IncomeEntity newIncome = toEntity(incomeDTO, profile, category);
         newIncome = incomeRepository.save(newIncome);
+        profileSummaryService.applyIncome(profile.getId(), newIncome.getAmount(), 1);
+        rollupService.apply(profile.getId(), category.getId(), RollupService.INCOME, newIncome.getDate(), newIncome.getAmount(), 1);
         return toDTO(newIncome);
     }
 
     // ✅ Update existing income
+    @Transactional
     public IncomeDTO updateIncome(Long id, IncomeDTO incomeDTO) {
-        ProfileEntity profile = profileService.getCurrentProfile();
+        Long profileId = profileService.getCurrentProfileId();
         IncomeEntity existing = incomeRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Income not found"));
 
-        if (!existing.getProfile().getId().equals(profile.getId())) {
+        if (!existing.getProfile().getId().equals(profileId)) {
             throw new RuntimeException("Unauthorized to update this income");
         }
+        BigDecimal previousAmount = existing.getAmount();
+        LocalDate previousDate = existing.getDate();
+        Long previousCategoryId = existing.getCategory() != null ? existing.getCategory().getId() : null;
 
         // Update fields if provided
         if (incomeDTO.getName() != null && !incomeDTO.getName().isBlank()) {
@@ -72,43 +95,155 @@ public class IncomeService {
         }
 
         IncomeEntity updated = incomeRepository.save(existing);
+        profileSummaryService.applyIncome(profileId, amountDelta(previousAmount, updated.getAmount()), 0);
+        rollupService.move(profileId, RollupService.INCOME, previousCategoryId, previousDate, previousAmount,
+                updated.getCategory().getId(), updated.getDate(), updated.getAmount());
         return toDTO(updated);
     }
 
     //delete income by id for current user
+    @Transactional
     public void deleteIncome(Long incomeId) {
-        ProfileEntity profile = profileService.getCurrentProfile();
+        Long profileId = profileService.getCurrentProfileId();
         IncomeEntity entity = incomeRepository.findById(incomeId)
                 .orElseThrow(() -> new RuntimeException("Income not found"));
-        if (!entity.getProfile().getId().equals(profile.getId())) {
+        if (!entity.getProfile().getId().equals(profileId)) {
             throw new RuntimeException("Unauthorized to delete this income");
         }
         incomeRepository.delete(entity);
+        profileSummaryService.applyIncome(profileId, amountDelta(entity.getAmount(), null), -1);
+        rollupService.apply(profileId, entity.getCategory().getId(), RollupService.INCOME, entity.getDate(),
+                amountDelta(entity.getAmount(), null), -1);
     }
 
     //Get latest 5 incomes for current user
     public List<IncomeDTO> getLatest5IncomesForCurrentUser() {
-        ProfileEntity profile = profileService.getCurrentProfile();
-        List<IncomeEntity> list = incomeRepository.findTop5ByProfileIdOrderByDateDesc(profile.getId());
-        return list.stream().map(this::toDTO).toList();
+        Long profileId = profileService.getCurrentProfileId();
+        return incomeRepository.findLatestDTOs(profileId, Limit.of(5));
     }
 
     //get total income for current user
     public BigDecimal getTotalIncomeForCurrentUser() {
-        ProfileEntity profile = profileService.getCurrentProfile();
-        BigDecimal totalIncome = incomeRepository.findTotalIncomeByProfileId(profile.getId());
-        return totalIncome != null ? totalIncome : BigDecimal.ZERO;
+        Long profileId = profileService.getCurrentProfileId();
+        return profileSummaryService.getSummary(profileId).getTotalIncome();
     }
 
     //filter income
-    public List<IncomeDTO> filterIncomes(LocalDate startDate, LocalDate endDate, String keyword, Sort sort) {
-        ProfileEntity profile = profileService.getCurrentProfile();
-        List<IncomeEntity> filteredIncomes = incomeRepository.findByProfileIdAndDateBetweenAndNameContainingIgnoreCase(
-                profile.getId(), startDate, endDate, keyword, sort);
+    // Sorting by "relevance" ranks keyword matches best first
+    @Transactional(readOnly = true)
+    public List<IncomeDTO> filterIncomes(TransactionFilter filter, Sort sort) {
+        Long profileId = profileService.getCurrentProfileId();
+        Specification<IncomeEntity> spec = filterSpecification(profileId, filter).and(orderSpecification(filter, sort));
+        List<IncomeEntity> filteredIncomes = incomeRepository.findAll(spec);
         return filteredIncomes.stream().map(this::toDTO).toList();
     }
 
+    // Same results as filterIncomes, written to out in the given format row by row
+    @Transactional(readOnly = true)
+    public void writeFilteredIncomes(TransactionFilter filter, Sort sort, ExportFormat format, OutputStream out)
+            throws IOException {
+        writeFilteredIncomes(profileService.getCurrentProfileId(), filter, sort, format, out);
+    }
+
+    // Same for an explicit profile, for work done outside the user's request (export jobs)
+    @Transactional(readOnly = true)
+    public void writeFilteredIncomes(Long profileId, TransactionFilter filter, Sort sort, ExportFormat format,
+                                     OutputStream out) throws IOException {
+        Specification<IncomeEntity> spec = filterSpecification(profileId, filter).and(orderSpecification(filter, sort));
+        if (format == ExportFormat.XLSX) {
+            excelService.writeIncomesToExcel(out, sink ->
+                    transactionStreamer.forEach(IncomeEntity.class, spec, Sort.unsorted(), row -> sink.accept(toDTO(row))));
+            return;
+        }
+        transactionStreamer.write(format, IncomeEntity.class, spec, Sort.unsorted(), this::toDTO,
+                TransactionStreamer.CSV_COLUMNS, out);
+    }
+
+    // All incomes in the date range, oldest first, written to out as a JSON array row by row
+    @Transactional(readOnly = true)
+    public void writeIncomes(LocalDate startDate, LocalDate endDate, OutputStream out) throws IOException {
+        Long profileId = profileService.getCurrentProfileId();
+        transactionStreamer.writeJsonArray(IncomeEntity.class, rangeSpecification(profileId, startDate, endDate),
+                Sort.by("date", "id"), this::toDTO, out);
+    }
+
+    // All incomes in the date range, oldest first, as an xlsx built while rows are read from the cursor
+    @Transactional(readOnly = true)
+    public void exportIncomesToExcel(LocalDate startDate, LocalDate endDate, OutputStream out) throws IOException {
+        Long profileId = profileService.getCurrentProfileId();
+        Specification<IncomeEntity> spec = rangeSpecification(profileId, startDate, endDate);
+        excelService.writeIncomesToExcel(out, sink ->
+                transactionStreamer.forEach(IncomeEntity.class, spec, Sort.by("date", "id"), row -> sink.accept(toDTO(row))));
+    }
+
+    // One page of filter results, seeking past the cursor on (sort key, id); never counts or loads the full range
+    @Transactional(readOnly = true)
+    public CursorPageDTO<IncomeDTO> filterIncomesPage(TransactionFilter filter, TransactionSortField sortField,
+                                                      Sort.Direction direction, int pageSize, String cursor) {
+        TransactionKeyset after = cursor != null && !cursor.isBlank()
+                ? TransactionKeyset.decode(cursor, sortField, direction)
+                : null;
+        // One extra row tells whether another page exists
+        List<IncomeDTO> rows = filterIncomesAfter(filter, sortField, direction, after, pageSize + 1);
+        boolean hasMore = rows.size() > pageSize;
+        List<IncomeDTO> page = hasMore ? rows.subList(0, pageSize) : rows;
+        return CursorPageDTO.<IncomeDTO>builder()
+                .items(page)
+                .nextCursor(hasMore ? TransactionKeyset.encode(page.getLast(), sortField, direction) : null)
+                .hasMore(hasMore)
+                .build();
+    }
+
+    // Up to limit filter results in keyset order, starting after the given position (from the start when null)
+    @Transactional(readOnly = true)
+    public List<IncomeDTO> filterIncomesAfter(TransactionFilter filter, TransactionSortField sortField,
+                                              Sort.Direction direction, TransactionKeyset after, int limit) {
+        Long profileId = profileService.getCurrentProfileId();
+        Specification<IncomeEntity> spec = filterSpecification(profileId, filter)
+                .and(TransactionSpecifications.orderedBy(sortField, direction));
+        if (after != null) {
+            spec = spec.and(TransactionSpecifications.after(after));
+        }
+        List<IncomeEntity> rows = incomeRepository.findBy(spec, query -> query.limit(limit).all());
+        return rows.stream().map(this::toDTO).toList();
+    }
+
+    // Every filter result in the same keyset order as filterIncomesAfter, read through a cursor. Call inside a
+    // read-only transaction and close the stream before it ends.
+    public Stream<IncomeDTO> streamFilteredIncomes(Long profileId, TransactionFilter filter,
+                                                   TransactionSortField sortField, Sort.Direction direction) {
+        Specification<IncomeEntity> spec = filterSpecification(profileId, filter)
+                .and(TransactionSpecifications.orderedBy(sortField, direction));
+        return transactionStreamer.stream(IncomeEntity.class, spec, Sort.unsorted(), this::toDTO);
+    }
+
     //helper methods
+    private Specification<IncomeEntity> rangeSpecification(Long profileId, LocalDate startDate, LocalDate endDate) {
+        return Specification.allOf(
+                TransactionSpecifications.ownedBy(profileId),
+                TransactionSpecifications.dateBetween(startDate, endDate),
+                TransactionSpecifications.fetchCategory());
+    }
+
+    private Specification<IncomeEntity> filterSpecification(Long profileId, TransactionFilter filter) {
+        return Specification.allOf(
+                TransactionSpecifications.ownedBy(profileId),
+                TransactionSpecifications.matching(filter),
+                keywordSearch.matches(filter.getKeyword()),
+                TransactionSpecifications.fetchCategory());
+    }
+
+    // Relevance ranks keyword matches; other sorts use the keyset order, so null amounts and names sort as 0 and ""
+    private Specification<IncomeEntity> orderSpecification(TransactionFilter filter, Sort sort) {
+        return KeywordSearch.isRelevanceSort(sort)
+                ? keywordSearch.orderedByRelevance(filter.getKeyword())
+                : TransactionSpecifications.orderedBy(sort);
+    }
+
+    private BigDecimal amountDelta(BigDecimal before, BigDecimal after) {
+        return (after != null ? after : BigDecimal.ZERO).subtract(before != null ? before : BigDecimal.ZERO);
+    }
+
     private IncomeEntity toEntity(IncomeDTO incomeDTO, ProfileEntity profile, CategoryEntity category) {
         return IncomeEntity.builder()
                 .name(incomeDTO.getName())
@@ -0,0 +1,62 @@
+package in.finance.moneymanager.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import in.finance.moneymanager.entity.ProfileEntity;
+import in.finance.moneymanager.repository.ProfileRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Optional;
+
+// Bounded in-process cache in front of ProfileRepository.findByEmail.
+// Cached entities are detached and shared between requests, so callers must treat them as read-only.
+@Service
+public class ProfileCacheService {
+
+    private final ProfileRepository profileRepository;
+    private final Cache<String, ProfileEntity> profilesByEmail;
+
+    public ProfileCacheService(ProfileRepository profileRepository,
+                               MeterRegistry meterRegistry,
+                               @Value("${app.cache.profiles.maximum-size:10000}") long maximumSize,
+                               @Value("${app.cache.profiles.ttl:10m}") Duration ttl) {
+        this.profileRepository = profileRepository;
+        // Caffeine evicts with W-TinyLFU once the size limit is reached
+        this.profilesByEmail = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, profilesByEmail, "profiles");
+    }
+
+    // Misses are not cached, so a profile registered on another node is found on the next call
+    public Optional<ProfileEntity> findByEmail(String email) {
+        if (email == null) {
+            return Optional.empty();
+        }
+        ProfileEntity cached = profilesByEmail.getIfPresent(email);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        Optional<ProfileEntity> profile = profileRepository.findByEmail(email);
+        profile.ifPresent(p -> profilesByEmail.put(email, p));
+        return profile;
+    }
+
+    // Must be called whenever a profile row is written
+    public void evict(String email) {
+        if (email != null) {
+            profilesByEmail.invalidate(email);
+        }
+    }
+
+    public CacheStats stats() {
+        return profilesByEmail.stats();
+    }
+}
@@ -4,24 +4,17 @@ import in.finance.moneymanager.dto.AuthDTO;
 import in.finance.moneymanager.dto.ProfileDTO;
 import in.finance.moneymanager.entity.ProfileEntity;
 import in.finance.moneymanager.repository.ProfileRepository;
+import in.finance.moneymanager.security.CurrentProfileHolder;
 import in.finance.moneymanager.util.JwtUtil;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.MediaType;
-import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.authentication.DisabledException;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 
 import java.util.Map;
-import java.util.Optional;
 import java.util.UUID;
 
 @Service
@@ -29,24 +22,23 @@ import java.util.UUID;
 public class ProfileService {
 
     private final ProfileRepository profileRepository;
+    private final ProfileCacheService profileCacheService;
     private final PasswordEncoder passwordEncoder;
-    private final AuthenticationManager authenticationManager;
     private final JwtUtil jwtUtil;
+    private final CurrentProfileHolder currentProfileHolder;
+    private final EmailService emailService;
+    private final ProfileSummaryService profileSummaryService;
 
     @Value("${app.activation.url}")
     private String activationUrl;
 
-    @Value("${brevo.api.key}")
-    private String brevoApiKey;
-
-    @Value("${brevo.from.email}")
-    private String brevoFromEmail;
-
     //Register New Profile
     public ProfileDTO registerProfile(ProfileDTO profileDTO) {
         ProfileEntity newProfile = toEntity(profileDTO);
         newProfile.setActivationToken(UUID.randomUUID().toString());
         newProfile = profileRepository.save(newProfile);
+        profileCacheService.evict(newProfile.getEmail());
+        profileSummaryService.createEmpty(newProfile.getId());
 
         // Build activation email
         String activationLink = activationUrl + "/api/v1.0/activate?token=" + newProfile.getActivationToken();
@@ -55,7 +47,7 @@ public class ProfileService {
                 + "<a href=\"" + activationLink + "\">Activate Account</a>";
 
         try {
-            sendEmailViaBrevo(newProfile.getEmail(), subject, body);
+            emailService.sendEmail(newProfile.getEmail(), subject, body);
         } catch (Exception e) {
             System.err.println("⚠️ Email sending failed: " + e.getMessage());
         }
@@ -63,32 +55,13 @@ public class ProfileService {
         return toDTO(newProfile);
     }
 
-    //Send Email via Brevo
-    private void sendEmailViaBrevo(String toEmail, String subject, String htmlContent) {
-        RestTemplate restTemplate = new RestTemplate();
-        String url = "https://api.brevo.com/v3/smtp/email";
-
-        Map<String, Object> payload = Map.of(
-                "sender", Map.of("email", brevoFromEmail, "name", "Money Manager"),
-                "to", new Object[]{Map.of("email", toEmail)},
-                "subject", subject,
-                "htmlContent", "<html><body>" + htmlContent + "</body></html>"
-        );
-
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_JSON);
-        headers.set("api-key", brevoApiKey);
-
-        HttpEntity<Map<String, Object>> entity = new HttpEntity<>(payload, headers);
-        restTemplate.postForEntity(url, entity, String.class);
-    }
-
     //Activation
     public boolean activateProfile(String activationToken) {
         return profileRepository.findByActivationToken(activationToken)
                 .map(profile -> {
                     profile.setIsActive(true);
                     profileRepository.save(profile);
+                    profileCacheService.evict(profile.getEmail());
                     return true;
                 })
                 .orElse(false);
@@ -96,17 +69,24 @@ public class ProfileService {
 
     // ---------------- Account Active Check ----------------
     public boolean isAccountActive(String email) {
-        return profileRepository.findByEmail(email)
+        return profileCacheService.findByEmail(email)
                 .map(ProfileEntity::getIsActive)
                 .orElse(false);
     }
 
-    //Get Current Authenticated Profile
+    //Get Current Authenticated Profile (loaded at most once per request)
     public ProfileEntity getCurrentProfile() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        return profileRepository.findByEmail(authentication.getName())
-                .orElseThrow(() ->
-                        new UsernameNotFoundException("Profile not found with email: " + authentication.getName()));
+        return currentProfileHolder.getProfile();
+    }
+
+    //Get Current Profile Id from the JWT principal (no database read)
+    public Long getCurrentProfileId() {
+        return currentProfileHolder.getProfileId();
+    }
+
+    //Get a lazy reference to the current profile, for use as an association on writes
+    public ProfileEntity getCurrentProfileReference() {
+        return profileRepository.getReferenceById(getCurrentProfileId());
     }
 
     //Get Public Profile
@@ -115,7 +95,7 @@ public class ProfileService {
         if (email == null) {
             currentUser = getCurrentProfile();
         } else {
-            currentUser = profileRepository.findByEmail(email)
+            currentUser = profileCacheService.findByEmail(email)
                     .orElseThrow(() ->
                             new UsernameNotFoundException("Profile not found with email: " + email));
         }
@@ -124,30 +104,30 @@ public class ProfileService {
     }
 
     //Authenticate & Generate JWT Token
+    //One pass: a single profile lookup and a single BCrypt check; active flag, token and DTO come from the same row
     public Map<String, Object> authenticateAndGenerateToken(AuthDTO authDTO) {
-        Optional<ProfileEntity> optionalProfile = profileRepository.findByEmail(authDTO.getEmail());
-
-        if (optionalProfile.isEmpty()) {
-            // Email does not exist in DB
-            throw new UsernameNotFoundException("User not found");
-        }
-
-        ProfileEntity profile = optionalProfile.get();
+        ProfileEntity profile = profileCacheService.findByEmail(authDTO.getEmail())
+                // Email does not exist in DB
+                .orElseThrow(() -> new UsernameNotFoundException("User not found"));
 
         // Verify password
         if (!passwordEncoder.matches(authDTO.getPassword(), profile.getPassword())) {
             throw new BadCredentialsException("Incorrect password");
         }
 
-        // If we reached here, credentials are valid
-        Authentication authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(authDTO.getEmail(), authDTO.getPassword())
-        );
+        // A cached inactive row may predate an activation on another node, so confirm it once
+        if (!Boolean.TRUE.equals(profile.getIsActive())) {
+            profileCacheService.evict(profile.getEmail());
+            profile = profileCacheService.findByEmail(profile.getEmail()).orElse(profile);
+            if (!Boolean.TRUE.equals(profile.getIsActive())) {
+                throw new DisabledException("Account is not active. Please activate your account first.");
+            }
+        }
 
-        String token = jwtUtil.generateToken(authDTO.getEmail());
+        String token = jwtUtil.generateToken(profile);
         return Map.of(
                 "token", token,
-                "user", getPublicProfile(authDTO.getEmail())
+                "user", toDTO(profile)
         );
     }
 
@@ -0,0 +1,207 @@
+package in.finance.moneymanager.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import in.finance.moneymanager.entity.ProfileSummaryEntity;
+import in.finance.moneymanager.repository.LedgerTotals;
+import in.finance.moneymanager.repository.ProfileSummaryRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Maintains tbl_profile_summaries: O(1) totals for the dashboard and the per-profile data version,
+// both updated in the same transaction as each write
+@Service
+@Slf4j
+public class ProfileSummaryService {
+
+    private final ProfileSummaryRepository profileSummaryRepository;
+    private final TransactionTemplate newTransaction;
+    private final TransactionTemplate reconcileTransaction;
+    private final Counter driftCounter;
+    // In-memory view of the data version column; the TTL bounds staleness for writes made on other nodes
+    private final Cache<Long, Long> dataVersions;
+
+    public ProfileSummaryService(ProfileSummaryRepository profileSummaryRepository,
+                                 PlatformTransactionManager transactionManager,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${app.cache.data-version.maximum-size:100000}") long maximumSize,
+                                 @Value("${app.cache.data-version.ttl:5s}") Duration ttl) {
+        this.profileSummaryRepository = profileSummaryRepository;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.reconcileTransaction = new TransactionTemplate(transactionManager);
+        this.driftCounter = Counter.builder("ledger.reconciliation.drift")
+                .description("Profile summaries corrected by the reconciliation job")
+                .register(meterRegistry);
+        this.dataVersions = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    // Apply an income delta; call inside the transaction that writes the income row
+    @Transactional
+    public void applyIncome(Long profileId, BigDecimal amount, long count) {
+        BigDecimal delta = amount != null ? amount : BigDecimal.ZERO;
+        if (profileSummaryRepository.addIncome(profileId, delta, count) == 0) {
+            createFromCommittedRows(profileId);
+            profileSummaryRepository.addIncome(profileId, delta, count);
+        }
+        evictDataVersionAfterCommit(profileId);
+    }
+
+    // Apply an expense delta; call inside the transaction that writes the expense row
+    @Transactional
+    public void applyExpense(Long profileId, BigDecimal amount, long count) {
+        BigDecimal delta = amount != null ? amount : BigDecimal.ZERO;
+        if (profileSummaryRepository.addExpense(profileId, delta, count) == 0) {
+            createFromCommittedRows(profileId);
+            profileSummaryRepository.addExpense(profileId, delta, count);
+        }
+        evictDataVersionAfterCommit(profileId);
+    }
+
+    // Bump the data version for writes that don't change totals (e.g. categories)
+    @Transactional
+    public void touch(Long profileId) {
+        if (profileSummaryRepository.incrementDataVersion(profileId) == 0) {
+            createFromCommittedRows(profileId);
+            profileSummaryRepository.incrementDataVersion(profileId);
+        }
+        evictDataVersionAfterCommit(profileId);
+    }
+
+    // Current data version, served from memory when possible
+    public long getDataVersion(Long profileId) {
+        return dataVersions.get(profileId, id -> profileSummaryRepository.findDataVersion(id)
+                .orElseGet(() -> getSummary(id).getDataVersion()));
+    }
+
+    // Other requests must not see the new version before the write is visible
+    private void evictDataVersionAfterCommit(Long profileId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    dataVersions.invalidate(profileId);
+                }
+            });
+        } else {
+            dataVersions.invalidate(profileId);
+        }
+    }
+
+    // Current totals; profiles that predate the ledger get their row built on first read
+    public ProfileSummaryEntity getSummary(Long profileId) {
+        return profileSummaryRepository.findById(profileId)
+                .orElseGet(() -> {
+                    createFromCommittedRows(profileId);
+                    return profileSummaryRepository.findById(profileId).orElseThrow();
+                });
+    }
+
+    // Start a new profile's ledger at zero
+    public void createEmpty(Long profileId) {
+        profileSummaryRepository.save(ProfileSummaryEntity.builder()
+                .profileId(profileId)
+                .totalIncome(BigDecimal.ZERO)
+                .totalExpense(BigDecimal.ZERO)
+                .incomeCount(0L)
+                .expenseCount(0L)
+                .dataVersion(initialDataVersion())
+                .updatedAt(LocalDateTime.now())
+                .build());
+    }
+
+    // Build the row from committed data in its own transaction. Rows still uncommitted elsewhere
+    // (including the caller's own write) are excluded and arrive as deltas once the row exists.
+    private void createFromCommittedRows(Long profileId) {
+        try {
+            newTransaction.executeWithoutResult(status -> {
+                LedgerTotals totals = profileSummaryRepository.computeTotalsByProfileId(profileId);
+                profileSummaryRepository.save(toEntity(profileId, totals));
+            });
+        } catch (DataIntegrityViolationException e) {
+            // Another request created the row first
+            log.debug("Profile summary for profile {} was created concurrently", profileId);
+        }
+    }
+
+    // Nightly: recompute every summary from the raw rows, report and correct drift
+    @Scheduled(cron = "${app.ledger.reconcile-cron:0 30 3 * * *}", zone = "IST")
+    public void reconcileAll() {
+        log.info("Reconciling profile summaries");
+        List<Long> profileIds = profileSummaryRepository.findAll().stream()
+                .map(ProfileSummaryEntity::getProfileId)
+                .toList();
+        int drifted = 0;
+        for (Long profileId : profileIds) {
+            if (Boolean.TRUE.equals(reconcileTransaction.execute(status -> reconcile(profileId)))) {
+                drifted++;
+            }
+        }
+        log.info("Profile summary reconciliation done: {} checked, {} corrected", profileIds.size(), drifted);
+    }
+
+    // Locks the summary row first, so writers block and their deltas land after the recomputed totals
+    private boolean reconcile(Long profileId) {
+        ProfileSummaryEntity summary = profileSummaryRepository.findByIdForUpdate(profileId).orElse(null);
+        if (summary == null) {
+            return false;
+        }
+        LedgerTotals totals = profileSummaryRepository.computeTotalsByProfileId(profileId);
+        ProfileSummaryEntity expected = toEntity(profileId, totals);
+        boolean drift = summary.getTotalIncome().compareTo(expected.getTotalIncome()) != 0
+                || summary.getTotalExpense().compareTo(expected.getTotalExpense()) != 0
+                || !summary.getIncomeCount().equals(expected.getIncomeCount())
+                || !summary.getExpenseCount().equals(expected.getExpenseCount());
+        if (drift) {
+            log.warn("Profile summary drift for profile {}: income {} ({} rows) vs {} ({} rows), expense {} ({} rows) vs {} ({} rows)",
+                    profileId,
+                    summary.getTotalIncome(), summary.getIncomeCount(), expected.getTotalIncome(), expected.getIncomeCount(),
+                    summary.getTotalExpense(), summary.getExpenseCount(), expected.getTotalExpense(), expected.getExpenseCount());
+            driftCounter.increment();
+            summary.setTotalIncome(expected.getTotalIncome());
+            summary.setTotalExpense(expected.getTotalExpense());
+            summary.setIncomeCount(expected.getIncomeCount());
+            summary.setExpenseCount(expected.getExpenseCount());
+            summary.setDataVersion((summary.getDataVersion() != null ? summary.getDataVersion() : 0L) + 1);
+            summary.setUpdatedAt(LocalDateTime.now());
+            evictDataVersionAfterCommit(profileId);
+        }
+        return drift;
+    }
+
+    private ProfileSummaryEntity toEntity(Long profileId, LedgerTotals totals) {
+        return ProfileSummaryEntity.builder()
+                .profileId(profileId)
+                .totalIncome(totals.getTotalIncome())
+                .totalExpense(totals.getTotalExpense())
+                .incomeCount(totals.getIncomeCount())
+                .expenseCount(totals.getExpenseCount())
+                .dataVersion(initialDataVersion())
+                .updatedAt(LocalDateTime.now())
+                .build();
+    }
+
+    // Start from the clock so a recreated row never reuses a version (and ETag) served earlier
+    private long initialDataVersion() {
+        return System.currentTimeMillis();
+    }
+}
@@ -0,0 +1,140 @@
+package in.finance.moneymanager.service;
+
+import in.finance.moneymanager.entity.MonthlyRollupEntity;
+import in.finance.moneymanager.repository.MonthlyRollupRepository;
+import in.finance.moneymanager.repository.ProfileRepository;
+import in.finance.moneymanager.repository.ProfileSummaryRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+
+// Maintains tbl_monthly_rollups: per (profile, category, type, month) sums for charts and trends.
+// Writers call it after the ledger update in the same transaction; the ledger row lock taken there
+// serializes all writes of a profile, so the update-then-insert below can't create duplicate buckets.
+@Service
+@Slf4j
+public class RollupService {
+
+    public static final String INCOME = "income";
+    public static final String EXPENSE = "expense";
+
+    private final MonthlyRollupRepository monthlyRollupRepository;
+    private final ProfileRepository profileRepository;
+    private final ProfileSummaryRepository profileSummaryRepository;
+    private final ProfileSummaryService profileSummaryService;
+    private final TransactionTemplate rebuildTransaction;
+    private final ExecutorService maintenanceExecutor;
+
+    public RollupService(MonthlyRollupRepository monthlyRollupRepository,
+                         ProfileRepository profileRepository,
+                         ProfileSummaryRepository profileSummaryRepository,
+                         ProfileSummaryService profileSummaryService,
+                         PlatformTransactionManager transactionManager,
+                         ExecutorService maintenanceExecutor) {
+        this.monthlyRollupRepository = monthlyRollupRepository;
+        this.profileRepository = profileRepository;
+        this.profileSummaryRepository = profileSummaryRepository;
+        this.profileSummaryService = profileSummaryService;
+        this.rebuildTransaction = new TransactionTemplate(transactionManager);
+        this.maintenanceExecutor = maintenanceExecutor;
+    }
+
+    // Add a row's amount and count to its month bucket (negative values remove it)
+    @Transactional
+    public void apply(Long profileId, Long categoryId, String type, LocalDate date, BigDecimal amount, long count) {
+        if (categoryId == null || date == null) {
+            return;
+        }
+        BigDecimal delta = amount != null ? amount : BigDecimal.ZERO;
+        int updated = monthlyRollupRepository.addToBucket(profileId, categoryId, type,
+                date.getYear(), date.getMonthValue(), delta, count);
+        if (updated == 0) {
+            monthlyRollupRepository.save(MonthlyRollupEntity.builder()
+                    .profileId(profileId)
+                    .categoryId(categoryId)
+                    .type(type)
+                    .year(date.getYear())
+                    .month(date.getMonthValue())
+                    .totalAmount(delta)
+                    .txnCount(count)
+                    .updatedAt(LocalDateTime.now())
+                    .build());
+        }
+    }
+
+    // An edited row may change amount, category or month; move its contribution accordingly
+    @Transactional
+    public void move(Long profileId, String type,
+                     Long previousCategoryId, LocalDate previousDate, BigDecimal previousAmount,
+                     Long categoryId, LocalDate date, BigDecimal amount) {
+        boolean sameBucket = Objects.equals(previousCategoryId, categoryId)
+                && previousDate != null && date != null
+                && previousDate.getYear() == date.getYear()
+                && previousDate.getMonthValue() == date.getMonthValue();
+        if (sameBucket) {
+            BigDecimal before = previousAmount != null ? previousAmount : BigDecimal.ZERO;
+            BigDecimal after = amount != null ? amount : BigDecimal.ZERO;
+            if (after.compareTo(before) != 0) {
+                apply(profileId, categoryId, type, date, after.subtract(before), 0);
+            }
+            return;
+        }
+        apply(profileId, previousCategoryId, type, previousDate, previousAmount != null ? previousAmount.negate() : null, -1);
+        apply(profileId, categoryId, type, date, amount, 1);
+    }
+
+    // First start with the rollup table: fill it from existing data in the background, so a large backfill
+    // doesn't delay startup; charts show the buckets built so far until it finishes
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillIfEmpty() {
+        if (monthlyRollupRepository.count() == 0) {
+            maintenanceExecutor.execute(() -> {
+                try {
+                    rebuildAll();
+                } catch (RuntimeException e) {
+                    log.error("Monthly rollup backfill failed", e);
+                }
+            });
+        }
+    }
+
+    // Weekly: rebuild every profile's buckets from the raw rows
+    @Scheduled(cron = "${app.rollup.rebuild-cron:0 0 4 * * SUN}", zone = "IST")
+    public void rebuildAll() {
+        List<Long> profileIds = profileRepository.findAllIds();
+        log.info("Rebuilding monthly rollups for {} profiles", profileIds.size());
+        int buckets = 0;
+        for (Long profileId : profileIds) {
+            try {
+                buckets += rebuild(profileId);
+            } catch (RuntimeException e) {
+                log.error("Monthly rollup rebuild failed for profile {}", profileId, e);
+            }
+        }
+        log.info("Monthly rollup rebuild done: {} buckets", buckets);
+    }
+
+    // Replace one profile's buckets; holding the ledger row lock keeps concurrent writes out meanwhile
+    public int rebuild(Long profileId) {
+        profileSummaryService.getSummary(profileId);
+        Integer buckets = rebuildTransaction.execute(status -> {
+            profileSummaryRepository.findByIdForUpdate(profileId);
+            monthlyRollupRepository.deleteByProfileId(profileId);
+            return monthlyRollupRepository.insertIncomeBuckets(profileId)
+                    + monthlyRollupRepository.insertExpenseBuckets(profileId);
+        });
+        return buckets != null ? buckets : 0;
+    }
+}
@@ -0,0 +1,349 @@
+package in.finance.moneymanager.service;
+
+import in.finance.moneymanager.dto.ImportErrorDTO;
+import in.finance.moneymanager.dto.ImportResultDTO;
+import in.finance.moneymanager.entity.CategoryEntity;
+import in.finance.moneymanager.repository.CategoryRepository;
+import in.finance.moneymanager.util.CsvReader;
+import in.finance.moneymanager.util.SpreadsheetText;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+// Bulk import of incomes or expenses from an uploaded .csv or .xlsx file.
+// Rows are parsed as a stream, validated one by one and inserted with JDBC batches, one transaction per chunk;
+// each chunk applies its totals to the ledger and monthly rollups once instead of once per row.
+// Invalid rows are skipped and reported; the valid ones are imported.
+@Slf4j
+@Service
+public class TransactionImportService {
+
+    private static final String INSERT_INCOME = "INSERT INTO tbl_incomes " +
+            "(name, icon, date, amount, category_id, profile_id, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_EXPENSE = "INSERT INTO tbl_expenses " +
+            "(name, icon, date, amount, category_id, profile_id, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final int MAX_TEXT_LENGTH = 255;
+    // numeric(38, 2)
+    private static final int MAX_INTEGER_DIGITS = 36;
+
+    // Header names, matched case-insensitively; "category" is what the .xlsx export writes,
+    // "categoryname" what the .csv export writes, so exported files can be imported again
+    private static final Map<String, String> COLUMN_ALIASES = Map.of(
+            "name", "name",
+            "category", "category",
+            "categoryname", "category",
+            "amount", "amount",
+            "date", "date",
+            "icon", "icon");
+    private static final List<String> REQUIRED_COLUMNS = List.of("name", "category", "amount", "date");
+
+    private final CategoryRepository categoryRepository;
+    private final ProfileService profileService;
+    private final ProfileSummaryService profileSummaryService;
+    private final RollupService rollupService;
+    private final ExcelService excelService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate chunkTransaction;
+    private final int chunkSize;
+    private final int maxRows;
+    private final int maxReportedErrors;
+
+    public TransactionImportService(CategoryRepository categoryRepository,
+                                    ProfileService profileService,
+                                    ProfileSummaryService profileSummaryService,
+                                    RollupService rollupService,
+                                    ExcelService excelService,
+                                    JdbcTemplate jdbcTemplate,
+                                    PlatformTransactionManager transactionManager,
+                                    @Value("${app.import.chunk-size:1000}") int chunkSize,
+                                    @Value("${app.import.max-rows:100000}") int maxRows,
+                                    @Value("${app.import.max-reported-errors:1000}") int maxReportedErrors) {
+        this.categoryRepository = categoryRepository;
+        this.profileService = profileService;
+        this.profileSummaryService = profileSummaryService;
+        this.rollupService = rollupService;
+        this.excelService = excelService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.chunkTransaction = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.maxRows = maxRows;
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    public ImportResultDTO importIncomes(MultipartFile file) {
+        return importTransactions(RollupService.INCOME, file);
+    }
+
+    public ImportResultDTO importExpenses(MultipartFile file) {
+        return importTransactions(RollupService.EXPENSE, file);
+    }
+
+    //helper methods
+    private ImportResultDTO importTransactions(String type, MultipartFile file) {
+        if (file == null || file.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Upload a non-empty .csv or .xlsx file");
+        }
+        String filename = file.getOriginalFilename() != null ? file.getOriginalFilename().toLowerCase(Locale.ROOT) : "";
+        Long profileId = profileService.getCurrentProfileId();
+        Import job = new Import(profileId, type, categoriesByName(profileId, type));
+        try {
+            if (filename.endsWith(".xlsx")) {
+                // The SAX reader needs random access to the zip entries, so the upload goes to a temp file first
+                Path temp = Files.createTempFile("moneymanager-import-", ".xlsx");
+                try {
+                    file.transferTo(temp);
+                    excelService.readFirstSheet(temp, job::accept);
+                } finally {
+                    Files.deleteIfExists(temp);
+                }
+            } else if (filename.endsWith(".csv")) {
+                // CSV exports quote formula-like text with an apostrophe; xlsx cells are stored as typed
+                try (InputStream in = file.getInputStream()) {
+                    new CsvReader(in).read((fields, row) ->
+                            job.accept(fields.stream().map(SpreadsheetText::unescape).toList(), row));
+                }
+            } else {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        "Unsupported file type. Upload a .csv or .xlsx file.");
+            }
+        } catch (RowLimitReached e) {
+            job.fail(e.row, "Row limit of " + maxRows + " reached; this and later rows were not imported");
+        } catch (IOException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Could not read the uploaded file: " + e.getMessage());
+        }
+        if (!job.headerRead) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "The file has no header row");
+        }
+        job.flush();
+        log.info("Imported {} of {} {} rows for profile {}", job.imported, job.total, type, profileId);
+        return ImportResultDTO.builder()
+                .type(type)
+                .totalRows(job.total)
+                .importedRows(job.imported)
+                .failedRows(job.failed)
+                .errors(job.errors)
+                .errorsTruncated(job.failed > job.errors.size())
+                .build();
+    }
+
+    // One lookup per import instead of one per row; names are unique per profile
+    private Map<String, Long> categoriesByName(Long profileId, String type) {
+        Map<String, Long> categories = new HashMap<>();
+        for (CategoryEntity category : categoryRepository.findByTypeAndProfileId(type, profileId)) {
+            if (category.getName() != null) {
+                categories.put(normalize(category.getName()), category.getId());
+            }
+        }
+        return categories;
+    }
+
+    private static String normalize(String text) {
+        return text.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private record ImportRow(long row, String name, String icon, LocalDate date, BigDecimal amount, Long categoryId) {
+    }
+
+    private record Bucket(Long categoryId, YearMonth month) {
+    }
+
+    // Thrown from the row callback to stop reading the file
+    private static final class RowLimitReached extends RuntimeException {
+
+        private final long row;
+
+        private RowLimitReached(long row) {
+            super(null, null, false, false);
+            this.row = row;
+        }
+    }
+
+    // State of one import: column positions, the pending chunk and the report
+    private final class Import {
+
+        private final Long profileId;
+        private final String type;
+        private final Map<String, Long> categories;
+        private final Map<String, Integer> columns = new HashMap<>();
+        private final List<ImportRow> chunk = new ArrayList<>();
+        private final List<ImportErrorDTO> errors = new ArrayList<>();
+        private boolean headerRead;
+        private long total;
+        private long imported;
+        private long failed;
+
+        private Import(Long profileId, String type, Map<String, Long> categories) {
+            this.profileId = profileId;
+            this.type = type;
+            this.categories = categories;
+        }
+
+        private void accept(List<String> fields, int row) {
+            if (!headerRead) {
+                readHeader(fields);
+                return;
+            }
+            if (total == maxRows) {
+                throw new RowLimitReached(row);
+            }
+            total++;
+            ImportRow parsed = parse(fields, row);
+            if (parsed != null) {
+                chunk.add(parsed);
+                if (chunk.size() == chunkSize) {
+                    flush();
+                }
+            }
+        }
+
+        private void readHeader(List<String> fields) {
+            for (int i = 0; i < fields.size(); i++) {
+                String column = COLUMN_ALIASES.get(normalize(fields.get(i)));
+                if (column != null) {
+                    columns.putIfAbsent(column, i);
+                }
+            }
+            List<String> missing = REQUIRED_COLUMNS.stream().filter(column -> !columns.containsKey(column)).toList();
+            if (!missing.isEmpty()) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        "Missing column(s) " + String.join(", ", missing) + ". The first row must name the columns.");
+            }
+            headerRead = true;
+        }
+
+        // Returns null, and records why, for rows that can't be imported
+        private ImportRow parse(List<String> fields, long row) {
+            String name = field(fields, "name");
+            if (name.isEmpty()) {
+                return reject(row, "name is required");
+            }
+            if (name.length() > MAX_TEXT_LENGTH) {
+                return reject(row, "name is longer than " + MAX_TEXT_LENGTH + " characters");
+            }
+            String icon = field(fields, "icon");
+            if (icon.length() > MAX_TEXT_LENGTH) {
+                return reject(row, "icon is longer than " + MAX_TEXT_LENGTH + " characters");
+            }
+            String categoryName = field(fields, "category");
+            Long categoryId = categories.get(normalize(categoryName));
+            if (categoryId == null) {
+                return reject(row, categoryName.isEmpty() ? "category is required"
+                        : "no " + type + " category named '" + categoryName + "'");
+            }
+            BigDecimal amount;
+            try {
+                amount = new BigDecimal(field(fields, "amount"));
+            } catch (NumberFormatException e) {
+                return reject(row, "amount must be a number");
+            }
+            if (amount.signum() <= 0) {
+                return reject(row, "amount must be greater than zero");
+            }
+            if (amount.stripTrailingZeros().scale() > 2) {
+                return reject(row, "amount has more than 2 decimal places");
+            }
+            if (amount.precision() - amount.scale() > MAX_INTEGER_DIGITS) {
+                return reject(row, "amount is too large");
+            }
+            LocalDate date;
+            try {
+                date = LocalDate.parse(field(fields, "date"));
+            } catch (DateTimeParseException e) {
+                return reject(row, "date must be yyyy-MM-dd");
+            }
+            return new ImportRow(row, name, icon.isEmpty() ? null : icon, date, amount, categoryId);
+        }
+
+        private String field(List<String> fields, String column) {
+            Integer index = columns.get(column);
+            if (index == null || index >= fields.size() || fields.get(index) == null) {
+                return "";
+            }
+            return fields.get(index).trim();
+        }
+
+        private ImportRow reject(long row, String message) {
+            fail(row, message);
+            return null;
+        }
+
+        private void fail(long row, String message) {
+            failed++;
+            if (errors.size() < maxReportedErrors) {
+                errors.add(ImportErrorDTO.builder().row(row).message(message).build());
+            }
+        }
+
+        // Insert the chunk and apply its totals in one transaction; a failed chunk is rolled back and reported
+        private void flush() {
+            if (chunk.isEmpty()) {
+                return;
+            }
+            BigDecimal chunkTotal = BigDecimal.ZERO;
+            Map<Bucket, BigDecimal> bucketTotals = new LinkedHashMap<>();
+            Map<Bucket, Long> bucketCounts = new HashMap<>();
+            for (ImportRow row : chunk) {
+                Bucket bucket = new Bucket(row.categoryId(), YearMonth.from(row.date()));
+                chunkTotal = chunkTotal.add(row.amount());
+                bucketTotals.merge(bucket, row.amount(), BigDecimal::add);
+                bucketCounts.merge(bucket, 1L, Long::sum);
+            }
+            BigDecimal total = chunkTotal;
+            LocalDateTime now = LocalDateTime.now();
+            try {
+                chunkTransaction.executeWithoutResult(status -> {
+                    jdbcTemplate.batchUpdate(RollupService.INCOME.equals(type) ? INSERT_INCOME : INSERT_EXPENSE,
+                            chunk, chunk.size(), (ps, row) -> {
+                                ps.setString(1, row.name());
+                                ps.setString(2, row.icon());
+                                ps.setObject(3, row.date());
+                                ps.setBigDecimal(4, row.amount());
+                                ps.setLong(5, row.categoryId());
+                                ps.setLong(6, profileId);
+                                ps.setObject(7, now);
+                                ps.setObject(8, now);
+                            });
+                    // Ledger first, as for single writes: its row lock serializes the rollup updates
+                    if (RollupService.INCOME.equals(type)) {
+                        profileSummaryService.applyIncome(profileId, total, chunk.size());
+                    } else {
+                        profileSummaryService.applyExpense(profileId, total, chunk.size());
+                    }
+                    bucketTotals.forEach((bucket, amount) -> rollupService.apply(profileId, bucket.categoryId(), type,
+                            bucket.month().atDay(1), amount, bucketCounts.get(bucket)));
+                });
+                imported += chunk.size();
+            } catch (DataAccessException e) {
+                log.warn("Import chunk of {} {} rows failed for profile {}", chunk.size(), type, profileId, e);
+                for (ImportRow row : chunk) {
+                    fail(row.row(), "could not be saved");
+                }
+            }
+            chunk.clear();
+        }
+    }
+}
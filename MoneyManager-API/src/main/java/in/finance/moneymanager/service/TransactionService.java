@@ -0,0 +1,216 @@
+package in.finance.moneymanager.service;
+
+import in.finance.moneymanager.dto.CursorPageDTO;
+import in.finance.moneymanager.dto.ExpenseDTO;
+import in.finance.moneymanager.dto.IncomeDTO;
+import in.finance.moneymanager.dto.TransactionDTO;
+import in.finance.moneymanager.repository.TransactionFilter;
+import in.finance.moneymanager.repository.TransactionKeyset;
+import in.finance.moneymanager.repository.TransactionSortField;
+import in.finance.moneymanager.util.CsvWriter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.stream.Stream;
+
+// Incomes and expenses as one listing: both tables are read in the same keyset order and merged.
+// Rows with equal sort values order by type, then id, so the merged order is total and pages can resume from a cursor.
+@Service
+@RequiredArgsConstructor
+public class TransactionService {
+
+    // Listing type for both tables merged, next to RollupService.INCOME and EXPENSE
+    public static final String ALL = "all";
+    public static final String NOT_MERGEABLE = "Invalid sortField for type 'all'. Must be one of date, amount, createdAt.";
+
+    private static final List<CsvWriter.Column<? super TransactionDTO>> CSV_COLUMNS = Stream.<CsvWriter.Column<? super TransactionDTO>>concat(
+                    TransactionStreamer.CSV_COLUMNS.stream(),
+                    Stream.of(new CsvWriter.Column<>("type", TransactionDTO::getType)))
+            .toList();
+
+    private final IncomeService incomeService;
+    private final ExpenseService expenseService;
+    private final ProfileService profileService;
+    private final TransactionStreamer transactionStreamer;
+    private final ExcelService excelService;
+
+    // Whole filtered range of both tables
+    @Transactional(readOnly = true)
+    public List<TransactionDTO> filterTransactions(TransactionFilter filter, TransactionSortField sortField,
+                                                   Sort.Direction direction) {
+        requireMergeable(sortField);
+        List<TransactionDTO> incomes = incomeService.filterIncomesAfter(filter, sortField, direction, null, Integer.MAX_VALUE)
+                .stream().map(this::fromIncome).toList();
+        List<TransactionDTO> expenses = expenseService.filterExpensesAfter(filter, sortField, direction, null, Integer.MAX_VALUE)
+                .stream().map(this::fromExpense).toList();
+        return merge(List.of(incomes, expenses), order(sortField, direction), Integer.MAX_VALUE);
+    }
+
+    // One merged page; either table may supply all of it, so each is read up to pageSize + 1 rows past the cursor
+    @Transactional(readOnly = true)
+    public CursorPageDTO<TransactionDTO> filterTransactionsPage(TransactionFilter filter, TransactionSortField sortField,
+                                                                Sort.Direction direction, int pageSize, String cursor) {
+        requireMergeable(sortField);
+        TransactionKeyset after = cursor != null && !cursor.isBlank()
+                ? TransactionKeyset.decodeMerged(cursor, sortField, direction)
+                : null;
+        List<TransactionDTO> incomes = incomeService.filterIncomesAfter(filter, sortField, direction,
+                        after != null ? after.within(RollupService.INCOME) : null, pageSize + 1)
+                .stream().map(this::fromIncome).toList();
+        List<TransactionDTO> expenses = expenseService.filterExpensesAfter(filter, sortField, direction,
+                        after != null ? after.within(RollupService.EXPENSE) : null, pageSize + 1)
+                .stream().map(this::fromExpense).toList();
+        // One extra row tells whether another page exists
+        List<TransactionDTO> rows = merge(List.of(incomes, expenses), order(sortField, direction), pageSize + 1);
+        boolean hasMore = rows.size() > pageSize;
+        List<TransactionDTO> page = hasMore ? rows.subList(0, pageSize) : rows;
+        return CursorPageDTO.<TransactionDTO>builder()
+                .items(page)
+                .nextCursor(hasMore ? TransactionKeyset.encodeMerged(page.getLast(), sortField, direction) : null)
+                .hasMore(hasMore)
+                .build();
+    }
+
+    // Same rows and order as filterTransactions, written to out while both tables are read: one cursor each,
+    // merged row by row. sort is a mergeable field then id, as FilterRequests builds it.
+    @Transactional(readOnly = true)
+    public void writeFilteredTransactions(TransactionFilter filter, Sort sort, ExportFormat format, OutputStream out)
+            throws IOException {
+        writeFilteredTransactions(profileService.getCurrentProfileId(), filter, sort, format, out);
+    }
+
+    // Same for an explicit profile, for work done outside the user's request (export jobs)
+    @Transactional(readOnly = true)
+    public void writeFilteredTransactions(Long profileId, TransactionFilter filter, Sort sort, ExportFormat format,
+                                          OutputStream out) throws IOException {
+        Sort.Order first = sort.iterator().next();
+        TransactionSortField sortField = TransactionSortField.fromProperty(first.getProperty())
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST, NOT_MERGEABLE));
+        requireMergeable(sortField);
+        Sort.Direction direction = first.getDirection();
+        try (Stream<TransactionDTO> incomes = incomeService.streamFilteredIncomes(profileId, filter, sortField, direction)
+                .map(this::fromIncome);
+             Stream<TransactionDTO> expenses = expenseService.streamFilteredExpenses(profileId, filter, sortField, direction)
+                     .map(this::fromExpense)) {
+            Iterator<TransactionDTO> rows = merged(List.of(incomes.iterator(), expenses.iterator()),
+                    order(sortField, direction));
+            if (format == ExportFormat.XLSX) {
+                excelService.writeTransactionsToExcel(out, rows::forEachRemaining);
+                return;
+            }
+            transactionStreamer.write(format, rows, CSV_COLUMNS, out);
+        }
+    }
+
+    // k-way merge of lists that are each sorted by order, stopping after limit rows
+    static <T> List<T> merge(List<List<T>> sortedLists, Comparator<T> order, int limit) {
+        Iterator<T> rows = merged(sortedLists.stream().map(List::iterator).toList(), order);
+        List<T> merged = new ArrayList<>();
+        while (rows.hasNext() && merged.size() < limit) {
+            merged.add(rows.next());
+        }
+        return merged;
+    }
+
+    // Same merge over iterators, pulled lazily: only one row per source is held at a time
+    static <T> Iterator<T> merged(List<Iterator<T>> sorted, Comparator<T> order) {
+        PriorityQueue<Head<T>> heads = new PriorityQueue<>(Math.max(1, sorted.size()),
+                Comparator.comparing(Head::row, order));
+        for (Iterator<T> rest : sorted) {
+            if (rest.hasNext()) {
+                heads.add(new Head<>(rest.next(), rest));
+            }
+        }
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return !heads.isEmpty();
+            }
+
+            @Override
+            public T next() {
+                Head<T> head = heads.poll();
+                if (head == null) {
+                    throw new NoSuchElementException();
+                }
+                if (head.rest().hasNext()) {
+                    heads.add(new Head<>(head.rest().next(), head.rest()));
+                }
+                return head.row();
+            }
+        };
+    }
+
+    //helper methods
+    // Names sort by database collation, which Java can't reproduce, so the two tables can't be interleaved by name
+    private void requireMergeable(TransactionSortField sortField) {
+        if (sortField == TransactionSortField.NAME) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, NOT_MERGEABLE);
+        }
+    }
+
+    // Same order as TransactionSpecifications.orderedBy within each table, with type between the value and id
+    private Comparator<TransactionDTO> order(TransactionSortField sortField, Sort.Direction direction) {
+        Comparator<TransactionDTO> order = Comparator
+                .comparing((TransactionDTO row) -> sortKey(row, sortField))
+                .thenComparing(TransactionDTO::getType)
+                .thenComparing(TransactionDTO::getId);
+        return direction.isAscending() ? order : order.reversed();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Comparable<Object> sortKey(TransactionDTO row, TransactionSortField sortField) {
+        Object value = switch (sortField) {
+            case DATE -> row.getDate();
+            case AMOUNT -> row.getAmount();
+            case NAME -> row.getName();
+            case CREATED_AT -> row.getCreatedAt();
+        };
+        return (Comparable<Object>) sortField.normalize(value);
+    }
+
+    private TransactionDTO fromIncome(IncomeDTO income) {
+        return TransactionDTO.builder()
+                .id(income.getId())
+                .name(income.getName())
+                .icon(income.getIcon())
+                .categoryName(income.getCategoryName())
+                .categoryId(income.getCategoryId())
+                .amount(income.getAmount())
+                .date(income.getDate())
+                .createdAt(income.getCreatedAt())
+                .updatedAt(income.getUpdatedAt())
+                .type(RollupService.INCOME)
+                .build();
+    }
+
+    private TransactionDTO fromExpense(ExpenseDTO expense) {
+        return TransactionDTO.builder()
+                .id(expense.getId())
+                .name(expense.getName())
+                .icon(expense.getIcon())
+                .categoryName(expense.getCategoryName())
+                .categoryId(expense.getCategoryId())
+                .amount(expense.getAmount())
+                .date(expense.getDate())
+                .createdAt(expense.getCreatedAt())
+                .updatedAt(expense.getUpdatedAt())
+                .type(RollupService.EXPENSE)
+                .build();
+    }
+
+    private record Head<T>(T row, Iterator<T> rest) {
+    }
+}
@@ -0,0 +1,226 @@
+package in.finance.moneymanager.service;
+
+import in.finance.moneymanager.dto.TransactionRow;
+import in.finance.moneymanager.util.CsvWriter;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.stereotype.Service;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+// Hands query results to the client while they are read: rows come through a JDBC cursor,
+// each is mapped, written and detached, so heap use stays flat however many rows match
+@Service
+public class TransactionStreamer {
+
+    private static final int FLUSH_EVERY = 200;
+
+    // Same fields, in the same order, as the JSON form of income and expense rows
+    public static final List<CsvWriter.Column<TransactionRow>> CSV_COLUMNS = List.of(
+            new CsvWriter.Column<>("id", TransactionRow::getId),
+            new CsvWriter.Column<>("name", TransactionRow::getName),
+            new CsvWriter.Column<>("icon", TransactionRow::getIcon),
+            new CsvWriter.Column<>("categoryName", TransactionRow::getCategoryName),
+            new CsvWriter.Column<>("categoryId", TransactionRow::getCategoryId),
+            new CsvWriter.Column<>("amount", TransactionRow::getAmount),
+            new CsvWriter.Column<>("date", TransactionRow::getDate),
+            new CsvWriter.Column<>("createdAt", TransactionRow::getCreatedAt),
+            new CsvWriter.Column<>("updatedAt", TransactionRow::getUpdatedAt));
+
+    private final EntityManager entityManager;
+    private final JsonMapper jsonMapper;
+    private final int fetchSize;
+
+    public TransactionStreamer(EntityManager entityManager,
+                               JsonMapper jsonMapper,
+                               @Value("${app.streaming.fetch-size:500}") int fetchSize) {
+        this.entityManager = entityManager;
+        this.jsonMapper = jsonMapper;
+        this.fetchSize = fetchSize;
+    }
+
+    // One output document being written row by row; closing it completes the document and closes the stream
+    public interface RowWriter<D> extends Closeable {
+
+        void write(D row);
+
+        void flush();
+    }
+
+    // Call inside a (read-only) transaction: the cursor only lives as long as it. Returns the number of rows written.
+    public <T, D> long writeJsonArray(Class<T> entityType, Specification<T> spec, Sort sort,
+                                      Function<T, D> mapper, OutputStream out) throws IOException {
+        return write(ExportFormat.JSON, entityType, spec, sort, mapper, List.of(), out);
+    }
+
+    // csvColumns are only used for CSV; JSON formats write every property of the mapped row
+    public <T, D> long write(ExportFormat format, Class<T> entityType, Specification<T> spec, Sort sort,
+                             Function<T, D> mapper, List<? extends CsvWriter.Column<? super D>> csvColumns,
+                             OutputStream out) throws IOException {
+        try (Stream<D> rows = stream(entityType, spec, sort, mapper)) {
+            return write(format, rows.iterator(), csvColumns, out);
+        }
+    }
+
+    // Rows already in output order, e.g. several cursors merged; each FLUSH_EVERY rows are pushed to the client
+    public <D> long write(ExportFormat format, Iterator<D> rows, List<? extends CsvWriter.Column<? super D>> csvColumns,
+                          OutputStream out) throws IOException {
+        long count = 0;
+        try (RowWriter<D> writer = openWriter(format, csvColumns, out)) {
+            while (rows.hasNext()) {
+                writer.write(rows.next());
+                if (++count % FLUSH_EVERY == 0) {
+                    writer.flush();
+                }
+            }
+        }
+        return count;
+    }
+
+    // Same cursor as write, with each row passed to action; same transaction requirement
+    public <T> long forEach(Class<T> entityType, Specification<T> spec, Sort sort, Consumer<T> action) {
+        long count = 0;
+        try (Stream<T> rows = open(entityType, spec, sort)) {
+            Iterator<T> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                T row = iterator.next();
+                action.accept(row);
+                entityManager.detach(row);
+                count++;
+            }
+        }
+        return count;
+    }
+
+    // Same cursor, pulled by the caller: each row is mapped and then detached. Close the stream before the
+    // transaction ends. Several can be open at once, e.g. to merge two tables.
+    public <T, D> Stream<D> stream(Class<T> entityType, Specification<T> spec, Sort sort, Function<T, D> mapper) {
+        return open(entityType, spec, sort).map(row -> {
+            D mapped = mapper.apply(row);
+            entityManager.detach(row);
+            return mapped;
+        });
+    }
+
+    public <D> RowWriter<D> openWriter(ExportFormat format, List<? extends CsvWriter.Column<? super D>> csvColumns,
+                                      OutputStream out) {
+        return switch (format) {
+            case JSON -> new JsonRowWriter<>(jsonMapper.createGenerator(out), true);
+            // No separator of Jackson's own between root values; each row ends with its newline
+            case NDJSON -> new JsonRowWriter<>(jsonMapper.writer().withRootValueSeparator("").createGenerator(out), false);
+            case CSV -> new CsvRowWriter<>(new CsvWriter(out), csvColumns);
+            case XLSX -> throw new IllegalArgumentException("Workbooks are written by ExcelService");
+        };
+    }
+
+    //helper methods
+    private <T> Stream<T> open(Class<T> entityType, Specification<T> spec, Sort sort) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<T> query = cb.createQuery(entityType);
+        Root<T> root = query.from(entityType);
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        if (sort.isSorted()) {
+            query.orderBy(QueryUtils.toOrders(sort, root, cb));
+        }
+        return entityManager.createQuery(query)
+                .setHint(AvailableHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(AvailableHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+
+    // A JSON array, or with array false one object per line (NDJSON)
+    private static final class JsonRowWriter<D> implements RowWriter<D> {
+
+        private final JsonGenerator generator;
+        private final boolean array;
+
+        private JsonRowWriter(JsonGenerator generator, boolean array) {
+            this.generator = generator;
+            this.array = array;
+            if (array) {
+                generator.writeStartArray();
+            }
+        }
+
+        @Override
+        public void write(D row) {
+            generator.writePOJO(row);
+            if (!array) {
+                generator.writeRaw('\n');
+            }
+        }
+
+        @Override
+        public void flush() {
+            generator.flush();
+        }
+
+        @Override
+        public void close() {
+            if (array) {
+                generator.writeEndArray();
+            }
+            generator.close();
+        }
+    }
+
+    private static final class CsvRowWriter<D> implements RowWriter<D> {
+
+        private final CsvWriter csv;
+        private final List<? extends CsvWriter.Column<? super D>> columns;
+
+        private CsvRowWriter(CsvWriter csv, List<? extends CsvWriter.Column<? super D>> columns) {
+            this.csv = csv;
+            this.columns = columns;
+            try {
+                csv.header(columns);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void write(D row) {
+            try {
+                csv.row(columns, row);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void flush() {
+            try {
+                csv.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            csv.close();
+        }
+    }
+}
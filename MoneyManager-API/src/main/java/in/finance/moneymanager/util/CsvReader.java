@@ -0,0 +1,83 @@
+package in.finance.moneymanager.util;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.ObjIntConsumer;
+
+// Minimal RFC 4180 reader, the counterpart of CsvWriter: quoted fields may hold commas, quotes and line breaks.
+// Records are handed over one at a time, so memory use doesn't depend on the size of the file.
+public class CsvReader {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final char BOM = '\uFEFF';
+
+    private final Reader in;
+
+    public CsvReader(InputStream in) {
+        this.in = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), BUFFER_SIZE);
+    }
+
+    // Calls handler with each record's fields and its 1-based record number; blank lines are skipped
+    // but still counted, so the number matches the row a spreadsheet app shows for the record
+    public void read(ObjIntConsumer<List<String>> handler) throws IOException {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean fieldStarted = false;
+        int rowNumber = 0;
+        int c = in.read();
+        if (c == BOM) {
+            c = in.read();
+        }
+        for (; c != -1; c = in.read()) {
+            char ch = (char) c;
+            if (quoted) {
+                if (ch != '"') {
+                    field.append(ch);
+                    continue;
+                }
+                in.mark(1);
+                if (in.read() == '"') {
+                    field.append('"');
+                } else {
+                    in.reset();
+                    quoted = false;
+                }
+            } else if (ch == '"' && field.isEmpty()) {
+                quoted = true;
+                fieldStarted = true;
+            } else if (ch == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+                fieldStarted = true;
+            } else if (ch == '\n' || ch == '\r') {
+                if (ch == '\r') {
+                    in.mark(1);
+                    if (in.read() != '\n') {
+                        in.reset();
+                    }
+                }
+                rowNumber++;
+                if (fieldStarted || !field.isEmpty()) {
+                    fields.add(field.toString());
+                    handler.accept(fields, rowNumber);
+                    fields = new ArrayList<>();
+                }
+                field.setLength(0);
+                fieldStarted = false;
+            } else {
+                field.append(ch);
+            }
+        }
+        if (fieldStarted || !field.isEmpty()) {
+            fields.add(field.toString());
+            handler.accept(fields, ++rowNumber);
+        }
+    }
+}
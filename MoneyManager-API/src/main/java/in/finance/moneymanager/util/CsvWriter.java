@@ -0,0 +1,99 @@
+package in.finance.moneymanager.util;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.function.Function;
+
+// Minimal RFC 4180 writer: fields are quoted only when they contain a comma, quote or line break.
+// Fields go straight into one reused buffer, so rows never build intermediate strings.
+public class CsvWriter implements Closeable, Flushable {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    // A CSV column: header name and how to read its value from a row
+    public record Column<D>(String name, Function<D, ?> value) {
+    }
+
+    private final Writer out;
+    private boolean firstField = true;
+
+    public CsvWriter(OutputStream out) {
+        this.out = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+    }
+
+    public void header(List<? extends Column<?>> columns) throws IOException {
+        for (Column<?> column : columns) {
+            field(column.name());
+        }
+        endRow();
+    }
+
+    public <D> void row(List<? extends Column<? super D>> columns, D row) throws IOException {
+        for (Column<? super D> column : columns) {
+            field(column.value().apply(row));
+        }
+        endRow();
+    }
+
+    // null is written as an empty field; text that would run as a formula gets a leading apostrophe
+    public void field(Object value) throws IOException {
+        if (!firstField) {
+            out.write(',');
+        }
+        firstField = false;
+        if (value == null) {
+            return;
+        }
+        String text = switch (value) {
+            case BigDecimal decimal -> decimal.toPlainString();
+            case String string -> SpreadsheetText.escape(string);
+            default -> value.toString();
+        };
+        if (!needsQuotes(text)) {
+            out.write(text);
+            return;
+        }
+        out.write('"');
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '"') {
+                out.write('"');
+            }
+            out.write(c);
+        }
+        out.write('"');
+    }
+
+    public void endRow() throws IOException {
+        out.write("\r\n");
+        firstField = true;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+
+    private static boolean needsQuotes(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                return true;
+            }
+        }
+        return false;
+    }
+}
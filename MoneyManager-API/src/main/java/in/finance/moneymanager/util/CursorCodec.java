@@ -0,0 +1,41 @@
+package in.finance.moneymanager.util;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+// Opaque keyset cursors: the sort key values of the last row, joined and base64url encoded
+public final class CursorCodec {
+
+    private static final String SEPARATOR = "|";
+
+    private CursorCodec() {
+    }
+
+    public static String encode(Object... values) {
+        StringBuilder raw = new StringBuilder();
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                raw.append(SEPARATOR);
+            }
+            raw.append(values[i] == null ? "" : values[i]);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Returns exactly expectedParts values (the last one may contain the separator); anything else is a client error
+    public static String[] decode(String cursor, int expectedParts) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", expectedParts);
+            if (parts.length != expectedParts) {
+                throw new IllegalArgumentException("Unexpected cursor length");
+            }
+            return parts;
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+        }
+    }
+}
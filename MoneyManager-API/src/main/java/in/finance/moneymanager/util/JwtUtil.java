@@ -1,72 +1,71 @@
 package in.finance.moneymanager.util;
 
+import in.finance.moneymanager.entity.ProfileEntity;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
 import java.util.Date;
 import java.util.Map;
 
 @Component
 public class JwtUtil {
 
-    @Value("${jwt.secret}")
-    private String SECRET_KEY;
+    public static final String CLAIM_PROFILE_ID = "profileId";
+    public static final String CLAIM_ACTIVE = "active";
 
     // Token validity: 1 hour
     private final long TOKEN_VALIDITY = 1000 * 60 * 60;
 
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(SECRET_KEY.getBytes());
+    // Key and parser are immutable and thread-safe, so build them once
+    private final SecretKey signingKey;
+    private final JwtParser jwtParser;
+
+    public JwtUtil(@Value("${jwt.secret}") String secretKey) {
+        this.signingKey = Keys.hmacShaKeyFor(secretKey.getBytes(StandardCharsets.UTF_8));
+        this.jwtParser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
     }
 
-    // Generate JWT token with optional claims
-    public String generateToken(String username) {
-        return createToken(Map.of(), username);
+    // Generate JWT token carrying the profile id and active flag, so requests can skip the profile lookup
+    public String generateToken(ProfileEntity profile) {
+        return createToken(Map.of(
+                CLAIM_PROFILE_ID, profile.getId(),
+                CLAIM_ACTIVE, Boolean.TRUE.equals(profile.getIsActive())
+        ), profile.getEmail());
     }
 
     private String createToken(Map<String, Object> claims, String subject) {
+        long now = System.currentTimeMillis();
         return Jwts.builder()
-                .setClaims(claims)
-                .setSubject(subject)
-                .setIssuedAt(new Date(System.currentTimeMillis()))
-                .setExpiration(new Date(System.currentTimeMillis() + TOKEN_VALIDITY))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .claims(claims)
+                .subject(subject)
+                .issuedAt(new Date(now))
+                .expiration(new Date(now + TOKEN_VALIDITY))
+                .signWith(signingKey, Jwts.SIG.HS256)
                 .compact();
     }
 
+    // Parse once: checks signature and expiry, then exposes subject, expiry and custom claims
+    public VerifiedToken verifyToken(String token) throws JwtException {
+        Claims claims = jwtParser.parseSignedClaims(token).getPayload();
+        return new VerifiedToken(claims.getSubject(), claims.getExpiration(), claims);
+    }
+
     // Extract username (subject) from JWT token
     public String extractUsername(String token) {
-        return extractAllClaims(token).getSubject();
+        return verifyToken(token).getSubject();
     }
 
     // Extract expiration date
     public Date extractExpiration(String token) {
-        return extractAllClaims(token).getExpiration();
-    }
-
-    // Parse JWT and extract claims
-    private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-    }
-
-    // Check if token is expired
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
-    }
-
-    // Validate token
-    public Boolean validateToken(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+        return verifyToken(token).getExpiration();
     }
 }
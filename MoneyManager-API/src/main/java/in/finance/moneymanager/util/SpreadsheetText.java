@@ -0,0 +1,34 @@
+package in.finance.moneymanager.util;
+
+// Guards CSV text against formula injection: spreadsheet apps run a cell starting with =, +, -, @
+// (or a tab or carriage return) as a formula, so such text is written with a leading apostrophe,
+// which Excel and LibreOffice show as plain text.
+public final class SpreadsheetText {
+
+    private static final char QUOTE = '\'';
+
+    private SpreadsheetText() {
+    }
+
+    // Text that already starts with apostrophes before a formula character gets one more too,
+    // so unescape can tell the user's own apostrophes from the one added here
+    public static String escape(String text) {
+        return needsQuote(text, 0) ? QUOTE + text : text;
+    }
+
+    // Exact inverse of escape, so an exported file reads back the original text
+    public static String unescape(String text) {
+        return !text.isEmpty() && text.charAt(0) == QUOTE && needsQuote(text, 1) ? text.substring(1) : text;
+    }
+
+    private static boolean needsQuote(String text, int index) {
+        while (index < text.length() && text.charAt(index) == QUOTE) {
+            index++;
+        }
+        if (index == text.length()) {
+            return false;
+        }
+        char c = text.charAt(index);
+        return c == '=' || c == '+' || c == '-' || c == '@' || c == '\t' || c == '\r';
+    }
+}
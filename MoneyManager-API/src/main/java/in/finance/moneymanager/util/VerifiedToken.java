@@ -0,0 +1,22 @@
+package in.finance.moneymanager.util;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Date;
+import java.util.Map;
+
+// Result of a single signature-checked parse of a JWT
+@Getter
+@AllArgsConstructor
+public class VerifiedToken {
+
+    private final String subject;
+    private final Date expiration;
+    private final Map<String, Object> claims;
+
+    public <T> T getClaim(String name, Class<T> type) {
+        Object value = claims.get(name);
+        return type.isInstance(value) ? type.cast(value) : null;
+    }
+}
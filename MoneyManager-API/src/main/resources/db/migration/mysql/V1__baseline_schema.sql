@@ -0,0 +1,84 @@
+-- Schema as previously created by Hibernate (ddl-auto=update). IF NOT EXISTS keeps it a no-op on databases
+-- that already have the tables; constraints are inline so they are only created together with their table.
+
+CREATE TABLE IF NOT EXISTS tbl_profiles (
+    id                bigint NOT NULL AUTO_INCREMENT,
+    full_name         varchar(255),
+    email             varchar(255),
+    password          varchar(255),
+    profile_image_url varchar(255),
+    is_active         bit,
+    activation_token  varchar(255),
+    created_at        datetime(6),
+    updated_at        datetime(6),
+    PRIMARY KEY (id),
+    CONSTRAINT UK98ewll617wm1kanxhvciab03v UNIQUE (email)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS tbl_categories (
+    id         bigint NOT NULL AUTO_INCREMENT,
+    name       varchar(255),
+    type       varchar(255),
+    icon       varchar(255),
+    profile_id bigint NOT NULL,
+    created_at datetime(6),
+    updated_at datetime(6),
+    PRIMARY KEY (id),
+    CONSTRAINT FKriip3m5423be58jfm33c0q8qb FOREIGN KEY (profile_id) REFERENCES tbl_profiles (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS tbl_expenses (
+    id          bigint NOT NULL AUTO_INCREMENT,
+    name        varchar(255),
+    icon        varchar(255),
+    date        date,
+    amount      decimal(38, 2),
+    category_id bigint NOT NULL,
+    profile_id  bigint NOT NULL,
+    created_at  datetime(6),
+    updated_at  datetime(6),
+    PRIMARY KEY (id),
+    CONSTRAINT FKbq39u9mib1ssrha1mmx7jhlpm FOREIGN KEY (category_id) REFERENCES tbl_categories (id),
+    CONSTRAINT FKb9dn15oqmjwntdh96pvgsls6l FOREIGN KEY (profile_id) REFERENCES tbl_profiles (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS tbl_incomes (
+    id          bigint NOT NULL AUTO_INCREMENT,
+    name        varchar(255),
+    icon        varchar(255),
+    date        date,
+    amount      decimal(38, 2),
+    category_id bigint NOT NULL,
+    profile_id  bigint NOT NULL,
+    created_at  datetime(6),
+    updated_at  datetime(6),
+    PRIMARY KEY (id),
+    CONSTRAINT FKc22osvblr701clmdm29ajqndp FOREIGN KEY (category_id) REFERENCES tbl_categories (id),
+    CONSTRAINT FKoe2tb8guovgwn0goavk5xmep0 FOREIGN KEY (profile_id) REFERENCES tbl_profiles (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS tbl_profile_summaries (
+    profile_id    bigint NOT NULL,
+    total_income  decimal(38, 2) NOT NULL,
+    total_expense decimal(38, 2) NOT NULL,
+    income_count  bigint NOT NULL,
+    expense_count bigint NOT NULL,
+    data_version  bigint,
+    updated_at    datetime(6),
+    PRIMARY KEY (profile_id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS tbl_monthly_rollups (
+    id           bigint NOT NULL AUTO_INCREMENT,
+    profile_id   bigint NOT NULL,
+    category_id  bigint NOT NULL,
+    type         varchar(255) NOT NULL,
+    period_year  integer NOT NULL,
+    period_month integer NOT NULL,
+    total_amount decimal(38, 2) NOT NULL,
+    txn_count    bigint NOT NULL,
+    updated_at   datetime(6),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_monthly_rollup_bucket UNIQUE (profile_id, category_id, type, period_year, period_month),
+    INDEX idx_monthly_rollup_profile_period (profile_id, period_year, period_month)
+) ENGINE = InnoDB;
@@ -0,0 +1,9 @@
+-- Per-profile listings filter on profile_id and order by date then id. One ascending index serves both
+-- directions: forward for (date, id) and backward for (date DESC, id DESC).
+-- category_id needs no extra index here: InnoDB already indexes every foreign key.
+CREATE INDEX idx_expenses_profile_date ON tbl_expenses (profile_id, date, id);
+CREATE INDEX idx_incomes_profile_date ON tbl_incomes (profile_id, date, id);
+
+-- findByTypeAndProfileId, and one category name per profile (existsByNameAndProfileId)
+CREATE INDEX idx_categories_profile_type ON tbl_categories (profile_id, type);
+CREATE UNIQUE INDEX uk_categories_profile_name ON tbl_categories (profile_id, name);
@@ -0,0 +1,3 @@
+-- Full-text indexes for keyword filters (MATCH ... AGAINST in boolean mode)
+CREATE FULLTEXT INDEX ft_expenses_name ON tbl_expenses (name);
+CREATE FULLTEXT INDEX ft_incomes_name ON tbl_incomes (name);
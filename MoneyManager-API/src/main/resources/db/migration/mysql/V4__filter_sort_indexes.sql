@@ -0,0 +1,3 @@
+-- /filter sorts by createdAt then id, and narrows on created windows; same shape as the (profile_id, date, id) indexes
+CREATE INDEX idx_expenses_profile_created ON tbl_expenses (profile_id, created_at, id);
+CREATE INDEX idx_incomes_profile_created ON tbl_incomes (profile_id, created_at, id);
@@ -0,0 +1,84 @@
+-- Schema as previously created by Hibernate (ddl-auto=update). IF NOT EXISTS keeps it a no-op on databases
+-- that already have the tables; constraints are inline so they are only created together with their table.
+
+CREATE TABLE IF NOT EXISTS tbl_profiles (
+    id                bigint GENERATED BY DEFAULT AS IDENTITY,
+    full_name         varchar(255),
+    email             varchar(255) UNIQUE,
+    password          varchar(255),
+    profile_image_url varchar(255),
+    is_active         boolean,
+    activation_token  varchar(255),
+    created_at        timestamp(6),
+    updated_at        timestamp(6),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS tbl_categories (
+    id         bigint GENERATED BY DEFAULT AS IDENTITY,
+    name       varchar(255),
+    type       varchar(255),
+    icon       varchar(255),
+    profile_id bigint NOT NULL,
+    created_at timestamp(6),
+    updated_at timestamp(6),
+    PRIMARY KEY (id),
+    CONSTRAINT FKriip3m5423be58jfm33c0q8qb FOREIGN KEY (profile_id) REFERENCES tbl_profiles
+);
+
+CREATE TABLE IF NOT EXISTS tbl_expenses (
+    id          bigint GENERATED BY DEFAULT AS IDENTITY,
+    name        varchar(255),
+    icon        varchar(255),
+    date        date,
+    amount      numeric(38, 2),
+    category_id bigint NOT NULL,
+    profile_id  bigint NOT NULL,
+    created_at  timestamp(6),
+    updated_at  timestamp(6),
+    PRIMARY KEY (id),
+    CONSTRAINT FKbq39u9mib1ssrha1mmx7jhlpm FOREIGN KEY (category_id) REFERENCES tbl_categories,
+    CONSTRAINT FKb9dn15oqmjwntdh96pvgsls6l FOREIGN KEY (profile_id) REFERENCES tbl_profiles
+);
+
+CREATE TABLE IF NOT EXISTS tbl_incomes (
+    id          bigint GENERATED BY DEFAULT AS IDENTITY,
+    name        varchar(255),
+    icon        varchar(255),
+    date        date,
+    amount      numeric(38, 2),
+    category_id bigint NOT NULL,
+    profile_id  bigint NOT NULL,
+    created_at  timestamp(6),
+    updated_at  timestamp(6),
+    PRIMARY KEY (id),
+    CONSTRAINT FKc22osvblr701clmdm29ajqndp FOREIGN KEY (category_id) REFERENCES tbl_categories,
+    CONSTRAINT FKoe2tb8guovgwn0goavk5xmep0 FOREIGN KEY (profile_id) REFERENCES tbl_profiles
+);
+
+CREATE TABLE IF NOT EXISTS tbl_profile_summaries (
+    profile_id    bigint NOT NULL,
+    total_income  numeric(38, 2) NOT NULL,
+    total_expense numeric(38, 2) NOT NULL,
+    income_count  bigint NOT NULL,
+    expense_count bigint NOT NULL,
+    data_version  bigint,
+    updated_at    timestamp(6),
+    PRIMARY KEY (profile_id)
+);
+
+CREATE TABLE IF NOT EXISTS tbl_monthly_rollups (
+    id           bigint GENERATED BY DEFAULT AS IDENTITY,
+    profile_id   bigint NOT NULL,
+    category_id  bigint NOT NULL,
+    type         varchar(255) NOT NULL,
+    period_year  integer NOT NULL,
+    period_month integer NOT NULL,
+    total_amount numeric(38, 2) NOT NULL,
+    txn_count    bigint NOT NULL,
+    updated_at   timestamp(6),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_monthly_rollup_bucket UNIQUE (profile_id, category_id, type, period_year, period_month)
+);
+
+CREATE INDEX IF NOT EXISTS idx_monthly_rollup_profile_period ON tbl_monthly_rollups (profile_id, period_year, period_month);
@@ -0,0 +1,12 @@
+-- Per-profile listings filter on profile_id and order by date then id. One ascending index serves both
+-- directions: forward for (date, id) and backward for (date DESC, id DESC).
+CREATE INDEX IF NOT EXISTS idx_expenses_profile_date ON tbl_expenses (profile_id, date, id);
+CREATE INDEX IF NOT EXISTS idx_incomes_profile_date ON tbl_incomes (profile_id, date, id);
+
+-- existsByCategoryId (category delete check); PostgreSQL does not index foreign keys by itself
+CREATE INDEX IF NOT EXISTS idx_expenses_category ON tbl_expenses (category_id);
+CREATE INDEX IF NOT EXISTS idx_incomes_category ON tbl_incomes (category_id);
+
+-- findByTypeAndProfileId, and one category name per profile (existsByNameAndProfileId)
+CREATE INDEX IF NOT EXISTS idx_categories_profile_type ON tbl_categories (profile_id, type);
+CREATE UNIQUE INDEX IF NOT EXISTS uk_categories_profile_name ON tbl_categories (profile_id, name);
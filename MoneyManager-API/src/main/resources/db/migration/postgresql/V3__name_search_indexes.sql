@@ -0,0 +1,5 @@
+-- Trigram indexes let lower(name) LIKE '%kw%' (keyword filters) use an index instead of scanning every row
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_expenses_name_trgm ON tbl_expenses USING gin (lower(name) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_incomes_name_trgm ON tbl_incomes USING gin (lower(name) gin_trgm_ops);
@@ -0,0 +1,159 @@
+package in.finance.moneymanager.controller;
+
+import com.sun.net.httpserver.HttpServer;
+import in.finance.moneymanager.config.HttpClientConfig;
+import in.finance.moneymanager.dto.ExpenseDTO;
+import in.finance.moneymanager.entity.ProfileEntity;
+import in.finance.moneymanager.service.EmailService;
+import in.finance.moneymanager.service.ExcelService;
+import in.finance.moneymanager.service.ExpenseService;
+import in.finance.moneymanager.service.IncomeService;
+import in.finance.moneymanager.service.ProfileService;
+import in.finance.moneymanager.support.Benchmark;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.http.converter.autoconfigure.HttpMessageConvertersAutoConfiguration;
+import org.springframework.boot.jackson.autoconfigure.JacksonAutoConfiguration;
+import org.springframework.boot.tomcat.autoconfigure.servlet.TomcatServletWebServerAutoConfiguration;
+import org.springframework.boot.web.server.context.WebServerApplicationContext;
+import org.springframework.boot.webmvc.autoconfigure.DispatcherServletAutoConfiguration;
+import org.springframework.boot.webmvc.autoconfigure.WebMvcAutoConfiguration;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// Concurrent /email/expense-excel calls against a Brevo stub that answers after a fixed delay, with Tomcat
+// capped at a few threads. On platform threads the requests queue for a worker; on virtual threads they
+// all wait on Brevo at once, so the batch takes about one stub delay.
+@Tag(Benchmark.TAG)
+class EmailLoadBenchmarkTest {
+
+    private static final int REQUESTS = 50;
+    private static final int TOMCAT_THREADS = 10;
+    private static final Duration BREVO_DELAY = Duration.ofSeconds(2);
+
+    private static HttpServer brevo;
+    private static final AtomicInteger sent = new AtomicInteger();
+
+    // Brevo stub: holds every call for the delay, then accepts it like the real API does
+    @BeforeAll
+    static void startBrevo() throws IOException {
+        brevo = HttpServer.create(new InetSocketAddress("localhost", 0), REQUESTS);
+        brevo.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        brevo.createContext("/v3/smtp/email", exchange -> {
+            try (exchange) {
+                exchange.getRequestBody().readAllBytes();
+                Thread.sleep(BREVO_DELAY);
+                byte[] body = "{\"messageId\":\"stub\"}".getBytes();
+                exchange.sendResponseHeaders(201, body.length);
+                exchange.getResponseBody().write(body);
+                sent.incrementAndGet();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        brevo.start();
+    }
+
+    @AfterAll
+    static void stopBrevo() {
+        brevo.stop(0);
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void emailExpenseExcel(boolean virtualThreads) throws Exception {
+        sent.set(0);
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(EmailApp.class)
+                .run("--server.port=0",
+                        "--server.tomcat.threads.max=" + TOMCAT_THREADS,
+                        "--spring.threads.virtual.enabled=" + virtualThreads,
+                        "--brevo.api.url=http://localhost:" + brevo.getAddress().getPort() + "/v3/smtp/email",
+                        "--brevo.api.key=stub",
+                        "--brevo.from.email=noreply@example.com")) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            String contextPath = context.getEnvironment().getProperty("server.servlet.context-path", "");
+            URI uri = URI.create("http://localhost:" + port + contextPath + "/email/expense-excel");
+
+            try (HttpClient client = HttpClient.newBuilder().executor(Executors.newVirtualThreadPerTaskExecutor()).build()) {
+                long start = System.nanoTime();
+                List<CompletableFuture<HttpResponse<Void>>> responses = new ArrayList<>();
+                for (int i = 0; i < REQUESTS; i++) {
+                    responses.add(client.sendAsync(HttpRequest.newBuilder(uri).build(),
+                            HttpResponse.BodyHandlers.discarding()));
+                }
+                CompletableFuture.allOf(responses.toArray(CompletableFuture[]::new)).join();
+                Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+                System.out.printf("%-8s %d requests, Brevo %d ms, Tomcat max %d threads: %,d ms%n",
+                        virtualThreads ? "virtual" : "platform", REQUESTS, BREVO_DELAY.toMillis(),
+                        TOMCAT_THREADS, elapsed.toMillis());
+
+                assertThat(responses).allSatisfy(response -> assertThat(response.join().statusCode()).isEqualTo(200));
+                assertThat(sent).hasValue(REQUESTS);
+                if (virtualThreads) {
+                    // Every request waits on Brevo concurrently, well below REQUESTS / TOMCAT_THREADS delays
+                    assertThat(elapsed).isLessThan(BREVO_DELAY.multipliedBy(REQUESTS / TOMCAT_THREADS - 1));
+                } else {
+                    assertThat(elapsed).isGreaterThanOrEqualTo(BREVO_DELAY.multipliedBy(REQUESTS / TOMCAT_THREADS));
+                }
+            }
+        }
+    }
+
+    // The email endpoint with the real Excel, email and HTTP client beans; the profile and the month's
+    // expenses are stubbed so the run measures request handling and the Brevo call, not the database
+    @Configuration(proxyBeanMethods = false)
+    @ImportAutoConfiguration({TomcatServletWebServerAutoConfiguration.class, DispatcherServletAutoConfiguration.class,
+            WebMvcAutoConfiguration.class, HttpMessageConvertersAutoConfiguration.class, JacksonAutoConfiguration.class})
+    @Import({EmailController.class, ExcelService.class, EmailService.class, HttpClientConfig.class})
+    static class EmailApp {
+
+        @Bean
+        ProfileService profileService() {
+            ProfileService profileService = mock(ProfileService.class);
+            when(profileService.getCurrentProfile()).thenReturn(ProfileEntity.builder()
+                    .id(1L)
+                    .email("user@example.com")
+                    .build());
+            return profileService;
+        }
+
+        @Bean
+        ExpenseService expenseService() {
+            List<ExpenseDTO> expenses = new ArrayList<>();
+            Benchmark.expenses(200).accept(expenses::add);
+            ExpenseService expenseService = mock(ExpenseService.class);
+            when(expenseService.getCurrentMonthExpensesForCurrentUser()).thenReturn(expenses);
+            return expenseService;
+        }
+
+        @Bean
+        IncomeService incomeService() {
+            return mock(IncomeService.class);
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package in.finance.moneymanager.controller;
+
+import in.finance.moneymanager.dto.ExportJobDTO;
+import in.finance.moneymanager.security.JwtRequestFilter;
+import in.finance.moneymanager.service.ExportFormat;
+import in.finance.moneymanager.service.ExportJobService;
+import in.finance.moneymanager.service.ProfileService;
+import in.finance.moneymanager.service.TransactionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(ExportJobController.class)
+@AutoConfigureMockMvc(addFilters = false)
+class ExportJobControllerTest {
+
+    private static final String JOB_ID = "0b6f4c1e-7d7a-4e55-9d3e-2f1c5a6b7c8d";
+    private static final String CONTENT = "0123456789abcdefghij";
+    private static final String DOWNLOAD = "/exports/" + JOB_ID + "/download";
+
+    @TempDir
+    private Path directory;
+
+    @MockitoBean
+    private ExportJobService exportJobService;
+    @MockitoBean
+    private ProfileService profileService;
+    @MockitoBean
+    private JwtRequestFilter jwtRequestFilter;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        Path file = Files.writeString(directory.resolve(JOB_ID + ".csv"), CONTENT);
+        when(profileService.getCurrentProfileId()).thenReturn(1L);
+        when(exportJobService.getFile(1L, JOB_ID))
+                .thenReturn(new ExportJobService.ExportFile(file, ExportFormat.CSV, "expense.csv", JOB_ID));
+    }
+
+    @Test
+    void fullDownload() throws Exception {
+        download(null)
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ACCEPT_RANGES, "bytes"))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + JOB_ID + "\""))
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, containsString("expense.csv")))
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, CONTENT.length()))
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_RANGE))
+                .andExpect(content().contentTypeCompatibleWith("text/csv"))
+                .andExpect(content().string(CONTENT));
+    }
+
+    @Test
+    void firstBytes() throws Exception {
+        download("bytes=0-9")
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 0-9/20"))
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, 10))
+                .andExpect(content().string("0123456789"));
+    }
+
+    @Test
+    void suffixRange() throws Exception {
+        download("bytes=-5")
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 15-19/20"))
+                .andExpect(content().string("fghij"));
+    }
+
+    @Test
+    void openEndedRangeResumesToTheEnd() throws Exception {
+        download("bytes=12-")
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 12-19/20"))
+                .andExpect(content().string("cdefghij"));
+    }
+
+    @Test
+    void rangeEndPastTheFileIsClamped() throws Exception {
+        download("bytes=18-100")
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 18-19/20"))
+                .andExpect(content().string("ij"));
+    }
+
+    @Test
+    void unsatisfiableRange() throws Exception {
+        download("bytes=20-30")
+                .andExpect(status().isRequestedRangeNotSatisfiable())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes */20"))
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void malformedRangeIsUnsatisfiable() throws Exception {
+        download("items=0-5")
+                .andExpect(status().isRequestedRangeNotSatisfiable())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes */20"));
+    }
+
+    @Test
+    void multipleRangesGetTheWholeFile() throws Exception {
+        download("bytes=0-1,5-6")
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_RANGE))
+                .andExpect(content().string(CONTENT));
+    }
+
+    @Test
+    void sendfileIsHandedTheRangeWhenSupported() throws Exception {
+        mockMvc.perform(get(DOWNLOAD)
+                        .header(HttpHeaders.RANGE, "bytes=5-9")
+                        .requestAttr("org.apache.tomcat.sendfile.support", true))
+                .andExpect(status().isPartialContent())
+                .andExpect(request().attribute("org.apache.tomcat.sendfile.start", 5L))
+                .andExpect(request().attribute("org.apache.tomcat.sendfile.end", 10L))
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void submitOfAllQueuesAMergedExport() throws Exception {
+        when(exportJobService.submit(eq(1L), eq(TransactionService.ALL), any(),
+                eq(Sort.by(Sort.Direction.ASC, "date", "id")), eq(ExportFormat.CSV)))
+                .thenReturn(ExportJobDTO.builder().id(JOB_ID).type(TransactionService.ALL).build());
+
+        mockMvc.perform(post("/exports").param("format", "csv")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"type\":\"all\"}"))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string(HttpHeaders.LOCATION, containsString("/exports/" + JOB_ID)));
+    }
+
+    //helper methods
+    private ResultActions download(String range) throws Exception {
+        return range != null
+                ? mockMvc.perform(get(DOWNLOAD).header(HttpHeaders.RANGE, range))
+                : mockMvc.perform(get(DOWNLOAD));
+    }
+}
@@ -0,0 +1,168 @@
+package in.finance.moneymanager.controller;
+
+import in.finance.moneymanager.repository.KeywordSearch;
+import in.finance.moneymanager.security.JwtRequestFilter;
+import in.finance.moneymanager.service.ExpenseService;
+import in.finance.moneymanager.service.ExportFormat;
+import in.finance.moneymanager.service.IncomeService;
+import in.finance.moneymanager.service.TransactionService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(FilterController.class)
+@AutoConfigureMockMvc(addFilters = false)
+class FilterControllerTest {
+
+    @MockitoBean
+    private ExpenseService expenseService;
+    @MockitoBean
+    private IncomeService incomeService;
+    @MockitoBean
+    private TransactionService transactionService;
+    @MockitoBean
+    private JwtRequestFilter jwtRequestFilter;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @ParameterizedTest
+    @ValueSource(strings = {"date", "amount", "name", "createdAt"})
+    void whitelistedSortFieldsTieBreakOnId(String sortField) throws Exception {
+        filter("{\"type\":\"expense\",\"sortField\":\"" + sortField + "\",\"sortOrder\":\"desc\"}")
+                .andExpect(status().isOk());
+
+        verify(expenseService).filterExpenses(any(), eq(Sort.by(Sort.Direction.DESC, sortField, "id")));
+    }
+
+    @Test
+    void relevanceSortIsAllowed() throws Exception {
+        filter("{\"type\":\"income\",\"keyword\":\"pay\",\"sortField\":\"relevance\"}")
+                .andExpect(status().isOk());
+
+        verify(incomeService).filterIncomes(any(), eq(Sort.by(Sort.Direction.ASC, KeywordSearch.RELEVANCE)));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"profile.password", "id", "category.name", "amount;drop"})
+    void otherSortFieldsAreRejected(String sortField) throws Exception {
+        filter("{\"type\":\"expense\",\"sortField\":\"" + sortField + "\"}")
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(expenseService);
+    }
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+            "{\"categoryIds\":[1,null]} | categoryIds must not contain null.",
+            "{\"minAmount\":10,\"maxAmount\":5} | minAmount must not be after maxAmount.",
+            "{\"createdFrom\":\"2026-02-01T00:00\",\"createdTo\":\"2026-01-01T00:00\"} | createdFrom must not be after createdTo.",
+            "{\"updatedFrom\":\"2026-02-01T00:00\",\"updatedTo\":\"2026-01-01T00:00\"} | updatedFrom must not be after updatedTo."})
+    void invalidCriteriaAreRejected(String criteria, String reason) throws Exception {
+        String filter = criteria.replaceFirst("\\{", "{\"type\":\"expense\",");
+        filter(filter)
+                .andExpect(status().isBadRequest())
+                .andExpect(status().reason(reason));
+        export(filter)
+                .andExpect(status().isBadRequest())
+                .andExpect(status().reason(reason));
+
+        verifyNoInteractions(expenseService);
+    }
+
+    @Test
+    void tooManyCategoryIdsAreRejected() throws Exception {
+        String ids = IntStream.rangeClosed(1, 101).mapToObj(String::valueOf).collect(Collectors.joining(","));
+        filter("{\"type\":\"expense\",\"categoryIds\":[" + ids + "]}")
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(expenseService);
+    }
+
+    @Test
+    void exportOfAllMergesBothTables() throws Exception {
+        export("{\"type\":\"all\",\"sortField\":\"amount\",\"sortOrder\":\"desc\"}")
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, containsString("transactions.csv")));
+
+        verify(transactionService).writeFilteredTransactions(any(), eq(Sort.by(Sort.Direction.DESC, "amount", "id")),
+                eq(ExportFormat.CSV), any());
+        verifyNoInteractions(incomeService, expenseService);
+    }
+
+    @Test
+    void exportOfAllCannotSortByName() throws Exception {
+        export("{\"type\":\"all\",\"sortField\":\"name\"}")
+                .andExpect(status().isBadRequest())
+                .andExpect(status().reason(TransactionService.NOT_MERGEABLE));
+
+        verifyNoInteractions(transactionService);
+    }
+
+    @Test
+    void unknownTypeNamesTheValidOnes() throws Exception {
+        export("{\"type\":\"transfer\"}")
+                .andExpect(status().isBadRequest())
+                .andExpect(status().reason(FilterRequests.INVALID_TYPE));
+    }
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+            "gzip               | true",
+            "GZIP;q=0.5         | true",
+            "deflate, gzip;q=1  | true",
+            "br, *;q=0.1        | true",
+            "gzip;q=0           | false",
+            "gzip;q=0.0, *      | false",
+            "br, *;q=0          | false",
+            "identity           | false",
+            "gzip;q=oops        | false"})
+    void gzipFollowsAcceptEncodingQuality(String acceptEncoding, boolean gzip) throws Exception {
+        ResultActions result = mockMvc.perform(post("/filter/export")
+                        .header(HttpHeaders.ACCEPT_ENCODING, acceptEncoding)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"type\":\"expense\"}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.VARY, containsString(HttpHeaders.ACCEPT_ENCODING)));
+        if (gzip) {
+            result.andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"));
+        } else {
+            result.andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING));
+        }
+    }
+
+    //helper methods
+    private ResultActions filter(String filter) throws Exception {
+        return mockMvc.perform(post("/filter")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(filter));
+    }
+
+    private ResultActions export(String filter) throws Exception {
+        return mockMvc.perform(post("/filter/export").param("format", "csv")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(filter));
+    }
+}
@@ -0,0 +1,159 @@
+package in.finance.moneymanager.controller;
+
+import in.finance.moneymanager.repository.KeywordSearch;
+import in.finance.moneymanager.security.JwtRequestFilter;
+import in.finance.moneymanager.service.DataVersionService;
+import in.finance.moneymanager.service.ExcelService;
+import in.finance.moneymanager.service.ExpenseService;
+import in.finance.moneymanager.service.IncomeService;
+import in.finance.moneymanager.service.ProfileService;
+import in.finance.moneymanager.service.ProfileSummaryService;
+import in.finance.moneymanager.service.RollupService;
+import in.finance.moneymanager.service.TransactionImportService;
+import in.finance.moneymanager.service.TransactionService;
+import in.finance.moneymanager.service.TransactionStreamer;
+import in.finance.moneymanager.support.H2PostgresMigrations;
+import in.finance.moneymanager.support.ListingFixture;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.AutoConfigureDataJpa;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureJdbc;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// The listing endpoints end to end, from the request through the JSON body: each runs one SQL statement.
+// The data version behind the listings' ETags is cached per profile and mocked here, so only the listing
+// query is counted. Requests commit like production ones, so the fixture is removed after each test.
+@WebMvcTest(controllers = {IncomeController.class, ExpenseController.class, FilterController.class},
+        properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc(addFilters = false)
+@AutoConfigureJdbc
+@AutoConfigureDataJpa
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import({IncomeService.class, ExpenseService.class, TransactionService.class, KeywordSearch.class,
+        TransactionStreamer.class, DataVersionService.class})
+class ListingEndpointQueryCountTest {
+
+    @DynamicPropertySource
+    static void migrations(DynamicPropertyRegistry registry) {
+        H2PostgresMigrations.register(registry);
+    }
+
+    @MockitoBean
+    private ProfileService profileService;
+    @MockitoBean
+    private ProfileSummaryService profileSummaryService;
+    @MockitoBean
+    private RollupService rollupService;
+    @MockitoBean
+    private ExcelService excelService;
+    @MockitoBean
+    private TransactionImportService transactionImportService;
+    @MockitoBean
+    private JwtRequestFilter jwtRequestFilter;
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void seed() {
+        Long profileId = transactionTemplate.execute(status ->
+                ListingFixture.seed(entityManager, "endpoints@example.com", LocalDate.now()));
+        when(profileService.getCurrentProfileId()).thenReturn(profileId);
+        when(profileSummaryService.getDataVersion(anyLong())).thenReturn(1L);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        for (String table : List.of("tbl_expenses", "tbl_incomes", "tbl_categories", "tbl_profiles")) {
+            jdbcTemplate.update("DELETE FROM " + table);
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"/incomes", "/expenses"})
+    void currentMonthListingIsOneStatement(String path) throws Exception {
+        expectOneStatement(get(path), ListingFixture.ROWS);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"income", "expense"})
+    void filterListingIsOneStatement(String type) throws Exception {
+        expectOneStatement(filter("{\"type\":\"" + type + "\"," + thisMonth()
+                + ",\"sortField\":\"amount\",\"sortOrder\":\"desc\"}"), ListingFixture.ROWS);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"income", "expense"})
+    void filterPageIsOneStatement(String type) throws Exception {
+        ListingFixture.inOneStatement(entityManagerFactory, () -> mockMvc.perform(
+                        filter("{\"type\":\"" + type + "\",\"pageSize\":10}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(10)))
+                .andExpect(jsonPath("$.items[*].categoryName").isNotEmpty()));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"/filter/stream", "/filter/export?format=ndjson"})
+    void streamedFilterIsOneStatement(String path) throws Exception {
+        ListingFixture.inOneStatement(entityManagerFactory, () -> mockMvc.perform(post(path)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"type\":\"expense\"}"))
+                .andExpect(status().isOk()));
+    }
+
+    //helper methods
+    private void expectOneStatement(RequestBuilder request, int rows) throws Exception {
+        ListingFixture.inOneStatement(entityManagerFactory, () -> mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(rows)))
+                .andExpect(jsonPath("$[?(@.categoryId == null)]").isEmpty()));
+    }
+
+    // The fixture fills the whole month; /filter otherwise stops at today
+    private String thisMonth() {
+        LocalDate today = LocalDate.now();
+        return "\"startDate\":\"" + today.withDayOfMonth(1) + "\",\"endDate\":\""
+                + today.withDayOfMonth(today.lengthOfMonth()) + "\"";
+    }
+
+    private RequestBuilder filter(String body) {
+        return post("/filter").contentType(MediaType.APPLICATION_JSON).content(body);
+    }
+}
@@ -0,0 +1,64 @@
+package in.finance.moneymanager.repository;
+
+import in.finance.moneymanager.dto.RecentTransactionDTO;
+import in.finance.moneymanager.support.H2PostgresMigrations;
+import in.finance.moneymanager.support.RecentActivityFixture;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.boot.jpa.test.autoconfigure.TestEntityManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// The recent activity feed maps the native UNION ALL onto RecentTransactionDTO by column alias. H2 runs with
+// DATABASE_TO_LOWER like PostgreSQL folds unquoted aliases; PostgresQueryPlanTest repeats this on PostgreSQL.
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+class DashboardRepositoryTest {
+
+    @DynamicPropertySource
+    static void migrations(DynamicPropertyRegistry registry) {
+        H2PostgresMigrations.register(registry);
+    }
+
+    @Autowired
+    private TestEntityManager entityManager;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private DashboardRepository dashboardRepository;
+
+    private List<RecentTransactionDTO> feed;
+    private Long profileId;
+
+    @BeforeEach
+    void seed() {
+        feed = RecentActivityFixture.seed(entityManager.getEntityManager(), jdbcTemplate);
+        profileId = feed.getFirst().getProfileId();
+    }
+
+    @Test
+    void firstPageMapsEveryColumn() {
+        List<RecentTransactionDTO> page = dashboardRepository.findRecentTransactions(profileId, 4);
+
+        // Equal DTOs: camelCase aliases (profileId, createdAt, updatedAt) and DATE/TIMESTAMP types all mapped
+        assertThat(page).isEqualTo(feed.subList(0, 4));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 3, 5, 2 * RecentActivityFixture.ROWS})
+    void cursorPagesCoverTheFeedOnce(int pageSize) {
+        assertThat(RecentActivityFixture.pageThrough(dashboardRepository, profileId, pageSize)).isEqualTo(feed);
+    }
+}
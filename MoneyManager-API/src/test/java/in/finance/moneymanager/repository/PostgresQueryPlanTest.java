@@ -0,0 +1,158 @@
+package in.finance.moneymanager.repository;
+
+import in.finance.moneymanager.dto.RecentTransactionDTO;
+import in.finance.moneymanager.entity.CategoryEntity;
+import in.finance.moneymanager.entity.ExpenseEntity;
+import in.finance.moneymanager.entity.ProfileEntity;
+import in.finance.moneymanager.support.RecentActivityFixture;
+import in.finance.moneymanager.support.SqlCapture;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationInfo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.boot.jpa.test.autoconfigure.TestEntityManager;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Runs the real PostgreSQL migrations (V1-V4, pg_trgm included) and checks that the per-profile listings
+// are planned on the (profile_id, date, id) index, and that the native recent activity feed maps and pages
+// on PostgreSQL (folded aliases, DATE/TIMESTAMP columns). Skipped when Docker isn't available.
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector=" +
+        "in.finance.moneymanager.support.SqlCapture")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+class PostgresQueryPlanTest {
+
+    private static final String PROFILE_DATE_INDEX = "idx_expenses_profile_date";
+
+    @Container
+    @ServiceConnection
+    static final PostgreSQLContainer POSTGRES = new PostgreSQLContainer("postgres:17-alpine");
+
+    @Autowired
+    private Flyway flyway;
+    @Autowired
+    private TestEntityManager entityManager;
+    @Autowired
+    private ExpenseRepository expenseRepository;
+    @Autowired
+    private DashboardRepository dashboardRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long profileId;
+
+    @BeforeEach
+    void seed() {
+        for (int p = 0; p < 3; p++) {
+            ProfileEntity profile = entityManager.persist(ProfileEntity.builder()
+                    .fullName("User " + p).email("user" + p + "@example.com").isActive(true).build());
+            CategoryEntity category = entityManager.persist(CategoryEntity.builder()
+                    .name("Food").type("expense").profile(profile).build());
+            for (int i = 0; i < 50; i++) {
+                entityManager.persist(ExpenseEntity.builder()
+                        .name("Lunch " + i).amount(BigDecimal.valueOf(10 + i))
+                        .date(LocalDate.of(2026, 1, 1).plusDays(i))
+                        .profile(profile).category(category).build());
+            }
+            profileId = profile.getId();
+        }
+        entityManager.flush();
+        entityManager.clear();
+        // A few hundred rows would be read sequentially anyway; the question is which index is chosen
+        jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+    }
+
+    @Test
+    void migrationsApplyOnPostgres() {
+        assertThat(flyway.info().applied())
+                .extracting(MigrationInfo::getVersion)
+                .extracting(Object::toString)
+                .containsExactly("1", "2", "3", "4");
+    }
+
+    @Test
+    void monthListingUsesProfileDateIndex() {
+        LocalDate from = LocalDate.of(2026, 1, 1);
+        LocalDate to = LocalDate.of(2026, 1, 31);
+
+        String sql = lastSelect(() -> expenseRepository.findDTOsByProfileIdAndDateBetween(profileId, from, to));
+
+        assertThat(explain(sql, profileId, from, to)).contains(PROFILE_DATE_INDEX);
+    }
+
+    @Test
+    void keysetPageUsesProfileDateIndex() {
+        LocalDate from = LocalDate.of(2026, 1, 1);
+        LocalDate to = LocalDate.of(2026, 12, 31);
+        LocalDate lastDate = LocalDate.of(2026, 2, 1);
+        long lastId = 40L;
+        TransactionKeyset after = new TransactionKeyset(TransactionSortField.DATE, Sort.Direction.DESC,
+                lastDate, lastId, null);
+        Specification<ExpenseEntity> spec = Specification.allOf(
+                TransactionSpecifications.<ExpenseEntity>ownedBy(profileId),
+                TransactionSpecifications.dateBetween(from, to),
+                TransactionSpecifications.orderedBy(TransactionSortField.DATE, Sort.Direction.DESC),
+                TransactionSpecifications.after(after));
+
+        // Without the page limit, so every placeholder is one of the criteria parameters below
+        String sql = lastSelect(() -> expenseRepository.findAll(spec));
+
+        assertThat(explain(sql, profileId, from, to, lastDate, lastDate, lastId)).contains(PROFILE_DATE_INDEX);
+    }
+
+    @Test
+    void recentActivityMapsAndPagesOnPostgres() {
+        List<RecentTransactionDTO> feed = RecentActivityFixture.seed(entityManager.getEntityManager(), jdbcTemplate);
+        Long feedProfileId = feed.getFirst().getProfileId();
+
+        // Equal DTOs: camelCase aliases (profileId, createdAt, updatedAt) and DATE/TIMESTAMP types all mapped
+        assertThat(dashboardRepository.findRecentTransactions(feedProfileId, 4)).isEqualTo(feed.subList(0, 4));
+        for (int pageSize : new int[]{1, 3, 5}) {
+            assertThat(RecentActivityFixture.pageThrough(dashboardRepository, feedProfileId, pageSize))
+                    .as("pages of %d", pageSize)
+                    .isEqualTo(feed);
+        }
+    }
+
+    //helper methods
+    private String lastSelect(Runnable query) {
+        SqlCapture.clear();
+        query.run();
+        List<String> selects = SqlCapture.statements().stream()
+                .filter(sql -> sql.stripLeading().toLowerCase().startsWith("select"))
+                .toList();
+        assertThat(selects).isNotEmpty();
+        return selects.getLast();
+    }
+
+    // Binds the parameters as literals, in the order the query renders its placeholders
+    private String explain(String sql, Object... parameters) {
+        StringBuilder bound = new StringBuilder();
+        int next = 0;
+        for (char ch : sql.toCharArray()) {
+            if (ch == '?') {
+                Object value = parameters[next++];
+                bound.append(value instanceof LocalDate ? "DATE '" + value + "'" : value);
+            } else {
+                bound.append(ch);
+            }
+        }
+        assertThat(next).as("placeholders in %s", sql).isEqualTo(parameters.length);
+        return String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + bound, String.class));
+    }
+}
@@ -0,0 +1,68 @@
+package in.finance.moneymanager.repository;
+
+import in.finance.moneymanager.support.H2PostgresMigrations;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationInfo;
+import org.flywaydb.core.api.MigrationState;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Flyway builds the schema from the versioned migrations and Hibernate validates the entities against it.
+// H2 plans by its own cost model, so the query plans themselves are checked in PostgresQueryPlanTest.
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+class SchemaMigrationTest {
+
+    @DynamicPropertySource
+    static void migrations(DynamicPropertyRegistry registry) {
+        H2PostgresMigrations.register(registry);
+    }
+
+    @Autowired
+    private Flyway flyway;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Value("${spring.jpa.hibernate.ddl-auto}")
+    private String ddlAuto;
+
+    @Test
+    void migrationsApplyInOrderAndSchemaValidates() {
+        // The context only starts if validate found every entity column in the migrated schema
+        assertThat(ddlAuto).isEqualTo("validate");
+        assertThat(flyway.info().applied())
+                .extracting(MigrationInfo::getVersion)
+                .extracting(Object::toString)
+                .containsExactly("1", "2", "3", "4");
+        assertThat(flyway.info().applied())
+                .extracting(MigrationInfo::getState)
+                .containsOnly(MigrationState.SUCCESS);
+    }
+
+    @Test
+    void listingIndexesLeadWithProfileThenSortColumn() {
+        assertThat(indexColumns("idx_expenses_profile_date")).containsExactly("profile_id", "date", "id");
+        assertThat(indexColumns("idx_incomes_profile_date")).containsExactly("profile_id", "date", "id");
+        assertThat(indexColumns("idx_expenses_profile_created")).containsExactly("profile_id", "created_at", "id");
+        assertThat(indexColumns("idx_incomes_profile_created")).containsExactly("profile_id", "created_at", "id");
+    }
+
+    //helper methods
+    private List<String> indexColumns(String index) {
+        return jdbcTemplate.queryForList("""
+                SELECT column_name FROM information_schema.index_columns
+                WHERE index_name = ? ORDER BY ordinal_position
+                """, String.class, index);
+    }
+}
@@ -0,0 +1,33 @@
+package in.finance.moneymanager.service;
+
+import in.finance.moneymanager.support.Benchmark;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Throughput and peak heap of the streaming xlsx export; heap should stay flat as rows grow tenfold
+@Tag(Benchmark.TAG)
+class ExcelExportBenchmarkTest {
+
+    private static final ExcelService excelService = new ExcelService();
+
+    // Warm-up run, so the first size doesn't pay for class loading and JIT
+    @BeforeAll
+    static void warmUp() throws IOException {
+        Benchmark.run("warm-up", 10_000, out -> excelService.writeExpensesToExcel(out, Benchmark.expenses(10_000)));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {10_000, 100_000, 1_000_000})
+    void writeExpenses(int rows) throws IOException {
+        Benchmark.Result result = Benchmark.run("xlsx", rows,
+                out -> excelService.writeExpensesToExcel(out, Benchmark.expenses(rows)));
+
+        assertThat(result.bytes()).isPositive();
+    }
+}
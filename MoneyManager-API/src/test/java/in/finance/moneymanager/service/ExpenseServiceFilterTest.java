@@ -0,0 +1,176 @@
+package in.finance.moneymanager.service;
+
+import in.finance.moneymanager.dto.ExpenseDTO;
+import in.finance.moneymanager.entity.CategoryEntity;
+import in.finance.moneymanager.entity.ExpenseEntity;
+import in.finance.moneymanager.entity.ProfileEntity;
+import in.finance.moneymanager.repository.KeywordSearch;
+import in.finance.moneymanager.repository.TransactionFilter;
+import in.finance.moneymanager.support.H2PostgresMigrations;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.boot.jpa.test.autoconfigure.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+// The optional /filter criteria and the whole-listing sort, against the migrated schema
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import({ExpenseService.class, KeywordSearch.class})
+class ExpenseServiceFilterTest {
+
+    private static final LocalDate DAY = LocalDate.of(2026, 4, 10);
+    private static final LocalDateTime NOON = DAY.atTime(12, 0);
+
+    @DynamicPropertySource
+    static void migrations(DynamicPropertyRegistry registry) {
+        H2PostgresMigrations.register(registry);
+    }
+
+    @MockitoBean
+    private ProfileService profileService;
+    @MockitoBean
+    private ProfileSummaryService profileSummaryService;
+    @MockitoBean
+    private RollupService rollupService;
+    @MockitoBean
+    private TransactionStreamer transactionStreamer;
+    @MockitoBean
+    private ExcelService excelService;
+
+    @Autowired
+    private ExpenseService expenseService;
+    @Autowired
+    private TestEntityManager entityManager;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long food;
+    private Long travel;
+
+    @BeforeEach
+    void seed() {
+        ProfileEntity profile = entityManager.persist(ProfileEntity.builder()
+                .fullName("User").email("filter@example.com").isActive(true).build());
+        ProfileEntity other = entityManager.persist(ProfileEntity.builder()
+                .fullName("Other").email("other@example.com").isActive(true).build());
+        CategoryEntity foodCategory = entityManager.persist(CategoryEntity.builder()
+                .name("Food").type("expense").profile(profile).build());
+        CategoryEntity travelCategory = entityManager.persist(CategoryEntity.builder()
+                .name("Travel").type("expense").profile(profile).build());
+        CategoryEntity otherFood = entityManager.persist(CategoryEntity.builder()
+                .name("Food").type("expense").profile(other).build());
+        food = foodCategory.getId();
+        travel = travelCategory.getId();
+        // name, amount, category, hours after NOON it was created, hours after NOON it was last updated
+        expense(profile, "refund", "-3.00", foodCategory, 0, 5);
+        expense(profile, "unpriced", null, foodCategory, 1, 1);
+        expense(profile, "coffee", "5.00", foodCategory, 2, 2);
+        expense(profile, "lunch", "10.00", foodCategory, 3, 6);
+        expense(profile, "taxi", "25.50", travelCategory, 4, 4);
+        expense(profile, "flight", "40.00", travelCategory, 5, 5);
+        expense(other, "not mine", "10.00", otherFood, 3, 3);
+        entityManager.flush();
+        entityManager.clear();
+        when(profileService.getCurrentProfileId()).thenReturn(profile.getId());
+    }
+
+    @Test
+    void amountRangeIsInclusive() {
+        assertThat(names(filter().minAmount(new BigDecimal("5")).maxAmount(new BigDecimal("25.50"))))
+                .containsExactlyInAnyOrder("coffee", "lunch", "taxi");
+    }
+
+    @Test
+    void amountRangeMayBeOpenEnded() {
+        assertThat(names(filter().minAmount(new BigDecimal("25.50"))))
+                .containsExactlyInAnyOrder("taxi", "flight");
+        assertThat(names(filter().maxAmount(BigDecimal.ZERO)))
+                .containsExactlyInAnyOrder("refund");
+    }
+
+    @Test
+    void categoryIdsKeepOnlyThoseCategories() {
+        assertThat(names(filter().categoryIds(Set.of(travel))))
+                .containsExactlyInAnyOrder("taxi", "flight");
+        assertThat(names(filter().categoryIds(Set.of(food, travel))))
+                .hasSize(6);
+        assertThat(names(filter().categoryIds(Set.of())))
+                .hasSize(6);
+    }
+
+    @Test
+    void createdRangeIsInclusive() {
+        assertThat(names(filter().createdFrom(NOON.plusHours(1)).createdTo(NOON.plusHours(3))))
+                .containsExactlyInAnyOrder("unpriced", "coffee", "lunch");
+        assertThat(names(filter().createdFrom(NOON.plusHours(4))))
+                .containsExactlyInAnyOrder("taxi", "flight");
+    }
+
+    @Test
+    void updatedRangeIsInclusive() {
+        assertThat(names(filter().updatedFrom(NOON.plusHours(5)).updatedTo(NOON.plusHours(6))))
+                .containsExactlyInAnyOrder("refund", "lunch", "flight");
+        assertThat(names(filter().updatedTo(NOON.plusHours(1))))
+                .containsExactlyInAnyOrder("unpriced");
+    }
+
+    @Test
+    void criteriaCombine() {
+        assertThat(names(filter().minAmount(BigDecimal.ZERO).categoryIds(Set.of(food))
+                .updatedFrom(NOON.plusHours(2))))
+                .containsExactlyInAnyOrder("coffee", "lunch");
+    }
+
+    // The same coalesced key as keyset pages: a missing amount sorts as zero, between a refund and a coffee
+    @Test
+    void amountSortTreatsMissingAmountsAsZero() {
+        assertThat(sorted(Sort.Direction.ASC))
+                .containsExactly("refund", "unpriced", "coffee", "lunch", "taxi", "flight");
+        assertThat(sorted(Sort.Direction.DESC))
+                .containsExactly("flight", "taxi", "lunch", "coffee", "unpriced", "refund");
+    }
+
+    //helper methods
+    private void expense(ProfileEntity profile, String name, String amount, CategoryEntity category,
+                         int createdHours, int updatedHours) {
+        ExpenseEntity expense = entityManager.persist(ExpenseEntity.builder()
+                .name(name).amount(amount != null ? new BigDecimal(amount) : null).date(DAY)
+                .profile(profile).category(category).build());
+        entityManager.flush();
+        jdbcTemplate.update("UPDATE tbl_expenses SET created_at = ?, updated_at = ? WHERE id = ?",
+                NOON.plusHours(createdHours), NOON.plusHours(updatedHours), expense.getId());
+    }
+
+    private TransactionFilter.TransactionFilterBuilder filter() {
+        return TransactionFilter.builder().startDate(DAY).endDate(DAY).keyword("");
+    }
+
+    private List<String> names(TransactionFilter.TransactionFilterBuilder filter) {
+        return expenseService.filterExpenses(filter.build(), Sort.by("date", "id"))
+                .stream().map(ExpenseDTO::getName).toList();
+    }
+
+    private List<String> sorted(Sort.Direction direction) {
+        return expenseService.filterExpenses(filter().build(), Sort.by(direction, "amount", "id"))
+                .stream().map(ExpenseDTO::getName).toList();
+    }
+}
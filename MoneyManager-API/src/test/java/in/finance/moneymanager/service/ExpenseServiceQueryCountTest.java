@@ -0,0 +1,57 @@
+package in.finance.moneymanager.service;
+
+import in.finance.moneymanager.dto.CursorPageDTO;
+import in.finance.moneymanager.dto.ExpenseDTO;
+import in.finance.moneymanager.repository.TransactionSortField;
+import in.finance.moneymanager.support.ListingFixture;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Each expense listing reads its rows and their categories in one statement
+class ExpenseServiceQueryCountTest extends ListingQueryCountTest {
+
+    @Test
+    void latestListingIsOneStatement() throws Exception {
+        List<ExpenseDTO> rows = countingStatements(() -> expenseService.getLatest5ExpensesForCurrentUser());
+
+        assertThat(rows).hasSize(5).allSatisfy(ListingFixture::hasCategory);
+    }
+
+    @Test
+    void currentMonthListingIsOneStatement() throws Exception {
+        List<ExpenseDTO> rows = countingStatements(() -> expenseService.getCurrentMonthExpensesForCurrentUser());
+
+        assertThat(rows).hasSize(ListingFixture.ROWS).allSatisfy(ListingFixture::hasCategory);
+    }
+
+    @Test
+    void notificationListingIsOneStatement() throws Exception {
+        List<ExpenseDTO> rows = countingStatements(() -> expenseService.getExpensesForUserOnDate(profileId,
+                today.withDayOfMonth(1)));
+
+        assertThat(rows).isNotEmpty().allSatisfy(ListingFixture::hasCategory);
+    }
+
+    @Test
+    void filterListingIsOneStatement() throws Exception {
+        List<ExpenseDTO> rows = countingStatements(() -> expenseService.filterExpenses(monthFilter(),
+                Sort.by(Sort.Direction.DESC, "amount")));
+
+        assertThat(rows).hasSize(ListingFixture.ROWS).allSatisfy(ListingFixture::hasCategory);
+    }
+
+    @Test
+    void filterPagesAreOneStatementEach() throws Exception {
+        CursorPageDTO<ExpenseDTO> first = countingStatements(() -> expenseService.filterExpensesPage(monthFilter(),
+                TransactionSortField.DATE, Sort.Direction.DESC, 10, null));
+        CursorPageDTO<ExpenseDTO> second = countingStatements(() -> expenseService.filterExpensesPage(monthFilter(),
+                TransactionSortField.DATE, Sort.Direction.DESC, 10, first.getNextCursor()));
+
+        assertThat(first.getItems()).hasSize(10).allSatisfy(ListingFixture::hasCategory);
+        assertThat(second.getItems()).hasSize(10).allSatisfy(ListingFixture::hasCategory);
+    }
+}
@@ -0,0 +1,63 @@
+package in.finance.moneymanager.service;
+
+import in.finance.moneymanager.dto.ExpenseDTO;
+import in.finance.moneymanager.support.Benchmark;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// The same generated rows written as CSV and NDJSON through the streamer's row writers and as xlsx
+// through ExcelService, to show what the text formats save over the workbook
+@Tag(Benchmark.TAG)
+class ExportFormatBenchmarkTest {
+
+    // Only the row writers are used, which don't touch the entity manager
+    private static final TransactionStreamer transactionStreamer =
+            new TransactionStreamer(null, JsonMapper.builder().build(), 500);
+    private static final ExcelService excelService = new ExcelService();
+
+    @BeforeAll
+    static void warmUp() throws IOException {
+        for (ExportFormat format : List.of(ExportFormat.CSV, ExportFormat.NDJSON, ExportFormat.XLSX)) {
+            run(format, 10_000);
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {10_000, 100_000, 1_000_000})
+    void compareFormats(int rows) throws IOException {
+        Benchmark.Result xlsx = run(ExportFormat.XLSX, rows);
+        Benchmark.Result csv = run(ExportFormat.CSV, rows);
+        Benchmark.Result ndjson = run(ExportFormat.NDJSON, rows);
+
+        for (Benchmark.Result text : List.of(csv, ndjson)) {
+            System.out.printf("%-8s vs xlsx at %,d rows: %.1fx rows/s, %.1fx output size%n", text.label(), rows,
+                    text.rowsPerSecond() / xlsx.rowsPerSecond(), text.bytes() / (double) xlsx.bytes());
+            assertThat(text.bytes()).isPositive();
+        }
+    }
+
+    //helper methods
+    private static Benchmark.Result run(ExportFormat format, long rows) throws IOException {
+        String label = format.name().toLowerCase();
+        if (format == ExportFormat.XLSX) {
+            return Benchmark.run(label, rows, out -> excelService.writeExpensesToExcel(out, Benchmark.expenses(rows)));
+        }
+        return Benchmark.run(label, rows, out -> writeRows(format, rows, out));
+    }
+
+    private static void writeRows(ExportFormat format, long rows, OutputStream out) throws IOException {
+        try (TransactionStreamer.RowWriter<ExpenseDTO> writer =
+                     transactionStreamer.openWriter(format, TransactionStreamer.CSV_COLUMNS, out)) {
+            Benchmark.expenses(rows).accept(writer::write);
+        }
+    }
+}
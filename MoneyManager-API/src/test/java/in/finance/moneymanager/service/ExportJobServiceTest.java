@@ -0,0 +1,185 @@
+package in.finance.moneymanager.service;
+
+import in.finance.moneymanager.repository.TransactionFilter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+
+class ExportJobServiceTest {
+
+    private static final int MAX_ACTIVE = 3;
+    private static final Long PROFILE_ID = 1L;
+
+    @TempDir
+    private Path directory;
+
+    private final ExecutorService exportJobExecutor = mock(ExecutorService.class);
+    private final List<Runnable> queued = Collections.synchronizedList(new ArrayList<>());
+    private ExportJobService exportJobService;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        // Queues the jobs without running them, so they stay active until the test runs them
+        doAnswer(invocation -> queued.add(invocation.getArgument(0))).when(exportJobExecutor).execute(any());
+        exportJobService = service(Duration.ofHours(1), Duration.ofMinutes(15));
+    }
+
+    @Test
+    void parallelSubmitsNeverExceedTheLimit() throws Exception {
+        int attempts = 32;
+        AtomicInteger rejected = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        try (ExecutorService clients = Executors.newFixedThreadPool(8)) {
+            List<CompletableFuture<Void>> submits = new ArrayList<>();
+            for (int i = 0; i < attempts; i++) {
+                submits.add(CompletableFuture.runAsync(() -> {
+                    awaitQuietly(start);
+                    try {
+                        submit();
+                    } catch (ResponseStatusException e) {
+                        assertThat(e.getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+                        rejected.incrementAndGet();
+                    }
+                }, clients));
+            }
+            start.countDown();
+            CompletableFuture.allOf(submits.toArray(CompletableFuture[]::new)).get();
+        }
+
+        assertThat(queued).hasSize(MAX_ACTIVE);
+        assertThat(rejected).hasValue(attempts - MAX_ACTIVE);
+    }
+
+    @Test
+    void finishedJobGivesItsSlotBack() {
+        for (int i = 0; i < MAX_ACTIVE; i++) {
+            submit();
+        }
+        assertThatThrownBy(this::submit).isInstanceOf(ResponseStatusException.class);
+
+        queued.removeFirst().run();
+
+        submit();
+        assertThat(queued).hasSize(MAX_ACTIVE);
+    }
+
+    @Test
+    void rejectedJobGivesItsSlotBack() {
+        doThrow(new RejectedExecutionException()).when(exportJobExecutor).execute(any());
+        for (int i = 0; i < MAX_ACTIVE + 1; i++) {
+            assertThatThrownBy(this::submit)
+                    .isInstanceOfSatisfying(ResponseStatusException.class,
+                            e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE));
+        }
+    }
+
+    @Test
+    void expiredFileIsKeptForTheDownloadGrace() throws IOException {
+        exportJobService = service(Duration.ZERO, Duration.ofMinutes(15));
+        String id = submit();
+        queued.removeFirst().run();
+        Path file = directory.resolve(id + ".csv");
+
+        exportJobService.removeExpired();
+
+        assertThat(file).exists();
+        assertThatThrownBy(() -> exportJobService.getFile(PROFILE_ID, id))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND));
+    }
+
+    @Test
+    void expiredFileIsDeletedAfterTheDownloadGrace() throws IOException {
+        exportJobService = service(Duration.ZERO, Duration.ZERO);
+        String id = submit();
+        queued.removeFirst().run();
+        Path file = directory.resolve(id + ".csv");
+        assertThat(file).exists();
+
+        exportJobService.removeExpired();
+
+        assertThat(file).doesNotExist();
+    }
+
+    @Test
+    void startupCleanupOnlyDeletesOldJobFiles() throws IOException {
+        Instant old = Instant.now().minus(Duration.ofDays(1));
+        Path oldExport = file(UUID.randomUUID() + ".csv", old);
+        Path oldPart = file(UUID.randomUUID() + ".part", old);
+        Path otherInstanceExport = file(UUID.randomUUID() + ".xlsx", Instant.now());
+        Path unrelated = file("notes.csv", old);
+        Path unrelatedUuidName = file(UUID.randomUUID() + ".txt", old);
+
+        exportJobService.removeOrphanedFiles();
+
+        assertThat(oldExport).doesNotExist();
+        assertThat(oldPart).doesNotExist();
+        assertThat(otherInstanceExport).exists();
+        assertThat(unrelated).exists();
+        assertThat(unrelatedUuidName).exists();
+    }
+
+    @Test
+    void cleanupKeepsFilesOfKnownJobs() throws IOException {
+        String id = submit();
+        queued.removeFirst().run();
+        Path file = directory.resolve(id + ".csv");
+        Files.setLastModifiedTime(file, FileTime.from(Instant.now().minus(Duration.ofDays(1))));
+
+        exportJobService.removeOrphanedFiles();
+
+        assertThat(file).exists();
+    }
+
+    //helper methods
+    private Path file(String name, Instant modified) throws IOException {
+        Path file = Files.writeString(directory.resolve(name), "data");
+        Files.setLastModifiedTime(file, FileTime.from(modified));
+        return file;
+    }
+
+    private ExportJobService service(Duration ttl, Duration downloadGrace) throws IOException {
+        return new ExportJobService(mock(IncomeService.class), mock(ExpenseService.class),
+                mock(TransactionService.class), exportJobExecutor, directory, ttl, downloadGrace, MAX_ACTIVE);
+    }
+
+    private String submit() {
+        return exportJobService.submit(PROFILE_ID, RollupService.EXPENSE, TransactionFilter.builder().build(),
+                Sort.unsorted(), ExportFormat.CSV).getId();
+    }
+
+    private void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package in.finance.moneymanager.service;
+
+import in.finance.moneymanager.dto.CursorPageDTO;
+import in.finance.moneymanager.dto.IncomeDTO;
+import in.finance.moneymanager.repository.TransactionSortField;
+import in.finance.moneymanager.support.ListingFixture;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Each income listing reads its rows and their categories in one statement
+class IncomeServiceQueryCountTest extends ListingQueryCountTest {
+
+    @Test
+    void latestListingIsOneStatement() throws Exception {
+        List<IncomeDTO> rows = countingStatements(() -> incomeService.getLatest5IncomesForCurrentUser());
+
+        assertThat(rows).hasSize(5).allSatisfy(ListingFixture::hasCategory);
+    }
+
+    @Test
+    void currentMonthListingIsOneStatement() throws Exception {
+        List<IncomeDTO> rows = countingStatements(() -> incomeService.getCurrentMonthIncomesForCurrentUser());
+
+        assertThat(rows).hasSize(ListingFixture.ROWS).allSatisfy(ListingFixture::hasCategory);
+    }
+
+    @Test
+    void filterListingIsOneStatement() throws Exception {
+        List<IncomeDTO> rows = countingStatements(() -> incomeService.filterIncomes(monthFilter(),
+                Sort.by(Sort.Direction.DESC, "amount")));
+
+        assertThat(rows).hasSize(ListingFixture.ROWS).allSatisfy(ListingFixture::hasCategory);
+    }
+
+    @Test
+    void filterPagesAreOneStatementEach() throws Exception {
+        CursorPageDTO<IncomeDTO> first = countingStatements(() -> incomeService.filterIncomesPage(monthFilter(),
+                TransactionSortField.DATE, Sort.Direction.DESC, 10, null));
+        CursorPageDTO<IncomeDTO> second = countingStatements(() -> incomeService.filterIncomesPage(monthFilter(),
+                TransactionSortField.DATE, Sort.Direction.DESC, 10, first.getNextCursor()));
+
+        assertThat(first.getItems()).hasSize(10).allSatisfy(ListingFixture::hasCategory);
+        assertThat(second.getItems()).hasSize(10).allSatisfy(ListingFixture::hasCategory);
+    }
+}
@@ -0,0 +1,80 @@
+package in.finance.moneymanager.service;
+
+import in.finance.moneymanager.repository.KeywordSearch;
+import in.finance.moneymanager.repository.TransactionFilter;
+import in.finance.moneymanager.support.H2PostgresMigrations;
+import in.finance.moneymanager.support.ListingFixture;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.boot.jpa.test.autoconfigure.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.LocalDate;
+import java.util.concurrent.Callable;
+
+import static org.mockito.Mockito.when;
+
+// Shared setup for the per-service listing query-count tests: ListingFixture's month of rows, and the
+// services with their write-side collaborators mocked
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import({IncomeService.class, ExpenseService.class, KeywordSearch.class})
+abstract class ListingQueryCountTest {
+
+    @DynamicPropertySource
+    static void migrations(DynamicPropertyRegistry registry) {
+        H2PostgresMigrations.register(registry);
+    }
+
+    @MockitoBean
+    private ProfileService profileService;
+    @MockitoBean
+    private ProfileSummaryService profileSummaryService;
+    @MockitoBean
+    private RollupService rollupService;
+    @MockitoBean
+    private TransactionStreamer transactionStreamer;
+    @MockitoBean
+    private ExcelService excelService;
+
+    @Autowired
+    protected IncomeService incomeService;
+    @Autowired
+    protected ExpenseService expenseService;
+    @Autowired
+    private TestEntityManager entityManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    protected Long profileId;
+    protected LocalDate today;
+
+    @BeforeEach
+    void seed() {
+        today = LocalDate.now();
+        profileId = ListingFixture.seed(entityManager.getEntityManager(), "listings@example.com", today);
+        when(profileService.getCurrentProfileId()).thenReturn(profileId);
+    }
+
+    //helper methods
+    // Starts from an empty persistence context, so nothing seeded can stand in for a query
+    protected <T> T countingStatements(Callable<T> listing) throws Exception {
+        entityManager.clear();
+        return ListingFixture.inOneStatement(entityManagerFactory, listing);
+    }
+
+    protected TransactionFilter monthFilter() {
+        return TransactionFilter.builder()
+                .startDate(today.withDayOfMonth(1))
+                .endDate(today.withDayOfMonth(today.lengthOfMonth()))
+                .build();
+    }
+}
@@ -0,0 +1,74 @@
+package in.finance.moneymanager.service;
+
+import in.finance.moneymanager.repository.MonthlyRollupRepository;
+import in.finance.moneymanager.repository.ProfileRepository;
+import in.finance.moneymanager.repository.ProfileSummaryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RollupServiceTest {
+
+    private final MonthlyRollupRepository monthlyRollupRepository = mock(MonthlyRollupRepository.class);
+    private final ProfileRepository profileRepository = mock(ProfileRepository.class);
+    private final ExecutorService maintenanceExecutor = mock(ExecutorService.class);
+    private final List<Runnable> queued = Collections.synchronizedList(new ArrayList<>());
+    private RollupService rollupService;
+
+    @BeforeEach
+    void setUp() {
+        // Queues the backfill without running it, so the test can tell startup from the rebuild itself
+        doAnswer(invocation -> queued.add(invocation.getArgument(0))).when(maintenanceExecutor).execute(any());
+        rollupService = new RollupService(monthlyRollupRepository, profileRepository,
+                mock(ProfileSummaryRepository.class), mock(ProfileSummaryService.class),
+                mock(PlatformTransactionManager.class), maintenanceExecutor);
+    }
+
+    @Test
+    void backfillRunsInTheBackground() {
+        when(monthlyRollupRepository.count()).thenReturn(0L);
+        when(profileRepository.findAllIds()).thenReturn(List.of());
+
+        rollupService.backfillIfEmpty();
+
+        assertThat(queued).hasSize(1);
+        verify(profileRepository, never()).findAllIds();
+
+        queued.getFirst().run();
+
+        verify(profileRepository).findAllIds();
+    }
+
+    @Test
+    void backfillSkipsFilledRollups() {
+        when(monthlyRollupRepository.count()).thenReturn(12L);
+
+        rollupService.backfillIfEmpty();
+
+        assertThat(queued).isEmpty();
+    }
+
+    @Test
+    void failedBackfillIsLoggedNotThrown() {
+        when(monthlyRollupRepository.count()).thenReturn(0L);
+        when(profileRepository.findAllIds()).thenThrow(new IllegalStateException("database down"));
+
+        rollupService.backfillIfEmpty();
+
+        assertThatCode(() -> queued.getFirst().run()).doesNotThrowAnyException();
+    }
+}
@@ -0,0 +1,238 @@
+package in.finance.moneymanager.service;
+
+import in.finance.moneymanager.config.ExecutorConfig;
+import in.finance.moneymanager.dto.ExpenseDTO;
+import in.finance.moneymanager.dto.ImportErrorDTO;
+import in.finance.moneymanager.dto.ImportResultDTO;
+import in.finance.moneymanager.entity.CategoryEntity;
+import in.finance.moneymanager.entity.MonthlyRollupEntity;
+import in.finance.moneymanager.entity.ProfileEntity;
+import in.finance.moneymanager.entity.ProfileSummaryEntity;
+import in.finance.moneymanager.repository.CategoryRepository;
+import in.finance.moneymanager.repository.MonthlyRollupRepository;
+import in.finance.moneymanager.repository.ProfileRepository;
+import in.finance.moneymanager.support.H2PostgresMigrations;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.when;
+
+// Imports commit chunk by chunk, so these tests run outside a test transaction and clean up after themselves
+@DataJpaTest(properties = "app.import.chunk-size=2")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({TransactionImportService.class, ProfileSummaryService.class, RollupService.class, ExcelService.class,
+        ExecutorConfig.class, TransactionImportServiceTest.Metrics.class})
+class TransactionImportServiceTest {
+
+    @DynamicPropertySource
+    static void migrations(DynamicPropertyRegistry registry) {
+        H2PostgresMigrations.register(registry);
+    }
+
+    @TestConfiguration
+    static class Metrics {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @MockitoBean
+    private ProfileService profileService;
+    @MockitoSpyBean
+    private RollupService rollupService;
+
+    @Autowired
+    private TransactionImportService transactionImportService;
+    @Autowired
+    private ProfileSummaryService profileSummaryService;
+    @Autowired
+    private ExcelService excelService;
+    @Autowired
+    private ProfileRepository profileRepository;
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @Autowired
+    private MonthlyRollupRepository monthlyRollupRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long profileId;
+    private Long foodId;
+    private Long travelId;
+
+    @BeforeEach
+    void seed() {
+        ProfileEntity profile = profileRepository.save(ProfileEntity.builder()
+                .fullName("User").email("import@example.com").isActive(true).build());
+        profileId = profile.getId();
+        foodId = categoryRepository.save(CategoryEntity.builder()
+                .name("Food").type("expense").profile(profile).build()).getId();
+        travelId = categoryRepository.save(CategoryEntity.builder()
+                .name("Travel").type("expense").profile(profile).build()).getId();
+        profileSummaryService.createEmpty(profileId);
+        when(profileService.getCurrentProfileId()).thenReturn(profileId);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        for (String table : List.of("tbl_monthly_rollups", "tbl_profile_summaries", "tbl_expenses", "tbl_incomes",
+                "tbl_categories", "tbl_profiles")) {
+            jdbcTemplate.update("DELETE FROM " + table);
+        }
+    }
+
+    @Test
+    void importUpdatesLedgerAndMonthlyRollups() {
+        ImportResultDTO result = transactionImportService.importExpenses(csv("""
+                name,category,amount,date
+                Lunch,Food,10.50,2026-01-05
+                Dinner,food,20,2026-01-20
+                Taxi,Travel,7.25,2026-01-21
+                Groceries,Food,30,2026-02-02
+                Train,Travel,12,2026-02-10
+                """));
+
+        assertThat(result.getImportedRows()).isEqualTo(5);
+        assertThat(result.getFailedRows()).isZero();
+        assertThat(expenseCount()).isEqualTo(5);
+        ProfileSummaryEntity summary = profileSummaryService.getSummary(profileId);
+        assertThat(summary.getTotalExpense()).isEqualByComparingTo("79.75");
+        assertThat(summary.getExpenseCount()).isEqualTo(5);
+        assertThat(rollups()).containsExactlyInAnyOrder(
+                bucket(foodId, 202601, "30.50", 2),
+                bucket(travelId, 202601, "7.25", 1),
+                bucket(foodId, 202602, "30.00", 1),
+                bucket(travelId, 202602, "12.00", 1));
+    }
+
+    @Test
+    void failedChunkLeavesNoRowsLedgerOrRollupChanges() {
+        // Chunks of two: the second chunk (file rows 4 and 5) fails on its February bucket after its January
+        // bucket was applied; the chunks before and after it still go in
+        doThrow(new DataIntegrityViolationException("bucket write failed")).when(rollupService)
+                .apply(eq(profileId), any(), eq(RollupService.EXPENSE), eq(LocalDate.of(2026, 2, 1)), any(), anyLong());
+
+        ImportResultDTO result = transactionImportService.importExpenses(csv("""
+                name,category,amount,date
+                Lunch,Food,10,2026-01-05
+                Dinner,Food,20,2026-01-20
+                Snack,Food,5,2026-01-25
+                Groceries,Food,30,2026-02-02
+                Taxi,Travel,7,2026-01-21
+                """));
+
+        assertThat(result.getImportedRows()).isEqualTo(3);
+        assertThat(result.getErrors()).extracting(ImportErrorDTO::getRow).containsExactly(4L, 5L);
+        assertThat(expenseCount()).isEqualTo(3);
+        ProfileSummaryEntity summary = profileSummaryService.getSummary(profileId);
+        assertThat(summary.getTotalExpense()).isEqualByComparingTo("37");
+        assertThat(summary.getExpenseCount()).isEqualTo(3);
+        assertThat(rollups()).containsExactlyInAnyOrder(
+                bucket(foodId, 202601, "30.00", 2),
+                bucket(travelId, 202601, "7.00", 1));
+    }
+
+    @Test
+    void invalidRowsAreReportedWithTheirFileRow() {
+        ImportResultDTO result = transactionImportService.importExpenses(csv("""
+                name,category,amount,date
+
+                Lunch,Food,10,2026-01-05
+                ,Food,10,2026-01-05
+
+                Dinner,Fuel,20,2026-01-20
+                "Multi
+                line",Food,abc,2026-01-20
+                Taxi,Travel,7,01/21/2026
+                """));
+
+        assertThat(result.getImportedRows()).isEqualTo(1);
+        assertThat(result.getFailedRows()).isEqualTo(4);
+        assertThat(result.getErrors())
+                .extracting(ImportErrorDTO::getRow, ImportErrorDTO::getMessage)
+                .containsExactly(
+                        tuple(4L, "name is required"),
+                        tuple(6L, "no expense category named 'Fuel'"),
+                        tuple(7L, "amount must be a number"),
+                        tuple(8L, "date must be yyyy-MM-dd"));
+    }
+
+    @Test
+    void exportedWorkbookImportsAgain() throws IOException {
+        ByteArrayOutputStream workbook = new ByteArrayOutputStream();
+        excelService.writeExpensesToExcel(workbook, List.of(
+                ExpenseDTO.builder().name("-Refund").categoryId(foodId).categoryName("Food")
+                        .amount(new BigDecimal("12.30")).date(LocalDate.of(2026, 3, 4)).build(),
+                ExpenseDTO.builder().name("Taxi").categoryId(travelId).categoryName("Travel")
+                        .amount(new BigDecimal("8")).date(LocalDate.of(2026, 3, 5)).build()));
+
+        ImportResultDTO result = transactionImportService.importExpenses(new MockMultipartFile("file",
+                "expenses.xlsx", ExportFormat.XLSX.getContentType(), workbook.toByteArray()));
+
+        assertThat(result.getImportedRows()).isEqualTo(2);
+        assertThat(jdbcTemplate.queryForList("SELECT name FROM tbl_expenses ORDER BY date", String.class))
+                .containsExactly("-Refund", "Taxi");
+        assertThat(profileSummaryService.getSummary(profileId).getTotalExpense()).isEqualByComparingTo("20.30");
+    }
+
+    //helper methods
+    private MockMultipartFile csv(String content) {
+        return new MockMultipartFile("file", "expenses.csv", "text/csv", content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private long expenseCount() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM tbl_expenses", Long.class);
+    }
+
+    private List<String> rollups() {
+        return monthlyRollupRepository.findAll().stream()
+                .filter(rollup -> rollup.getProfileId().equals(profileId))
+                .map(this::bucket)
+                .toList();
+    }
+
+    private String bucket(MonthlyRollupEntity rollup) {
+        return bucket(rollup.getCategoryId(), rollup.getYear() * 100 + rollup.getMonth(),
+                rollup.getTotalAmount().setScale(2).toPlainString(), rollup.getTxnCount());
+    }
+
+    private String bucket(Long categoryId, int period, String total, long count) {
+        return categoryId + " " + period + " " + total + " x" + count;
+    }
+}
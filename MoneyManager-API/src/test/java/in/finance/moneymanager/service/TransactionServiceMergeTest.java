@@ -0,0 +1,218 @@
+package in.finance.moneymanager.service;
+
+import in.finance.moneymanager.dto.CursorPageDTO;
+import in.finance.moneymanager.dto.TransactionDTO;
+import in.finance.moneymanager.entity.CategoryEntity;
+import in.finance.moneymanager.entity.ExpenseEntity;
+import in.finance.moneymanager.entity.IncomeEntity;
+import in.finance.moneymanager.entity.ProfileEntity;
+import in.finance.moneymanager.repository.KeywordSearch;
+import in.finance.moneymanager.repository.TransactionFilter;
+import in.finance.moneymanager.repository.TransactionSortField;
+import in.finance.moneymanager.support.H2PostgresMigrations;
+import in.finance.moneymanager.util.CsvReader;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.boot.jpa.test.autoconfigure.TestEntityManager;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+// Merged income + expense pages, walked at every page size, must add up to the unpaged merge: no row lost or
+// repeated across a page boundary, including runs of equal sort values that span both tables
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import({TransactionService.class, IncomeService.class, ExpenseService.class, KeywordSearch.class,
+        TransactionStreamer.class, TransactionServiceMergeTest.Json.class})
+class TransactionServiceMergeTest {
+
+    private static final int ROWS_PER_TABLE = 12;
+    private static final LocalDate FIRST_DATE = LocalDate.of(2026, 3, 1);
+
+    @DynamicPropertySource
+    static void migrations(DynamicPropertyRegistry registry) {
+        H2PostgresMigrations.register(registry);
+    }
+
+    @MockitoBean
+    private ProfileService profileService;
+    @MockitoBean
+    private ProfileSummaryService profileSummaryService;
+    @MockitoBean
+    private RollupService rollupService;
+    @MockitoBean
+    private ExcelService excelService;
+
+    @Autowired
+    private TransactionService transactionService;
+    @Autowired
+    private TestEntityManager entityManager;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @TestConfiguration
+    static class Json {
+
+        @Bean
+        JsonMapper jsonMapper() {
+            return JsonMapper.builder().build();
+        }
+    }
+
+    static Stream<Arguments> mergeableSorts() {
+        return Stream.of(TransactionSortField.DATE, TransactionSortField.AMOUNT, TransactionSortField.CREATED_AT)
+                .flatMap(field -> Stream.of(Sort.Direction.ASC, Sort.Direction.DESC)
+                        .map(direction -> Arguments.of(field, direction)));
+    }
+
+    @BeforeEach
+    void seed() {
+        ProfileEntity profile = entityManager.persist(ProfileEntity.builder()
+                .fullName("User").email("merge@example.com").isActive(true).build());
+        CategoryEntity salary = entityManager.persist(CategoryEntity.builder()
+                .name("Salary").type("income").profile(profile).build());
+        CategoryEntity food = entityManager.persist(CategoryEntity.builder()
+                .name("Food").type("expense").profile(profile).build());
+        // Few distinct values per sort key, so equal values run across both tables; some amounts are null
+        for (int i = 0; i < ROWS_PER_TABLE; i++) {
+            entityManager.persist(IncomeEntity.builder()
+                    .name("Pay " + i).amount(amount(i)).date(FIRST_DATE.plusDays(i % 3))
+                    .profile(profile).category(salary).build());
+            entityManager.persist(ExpenseEntity.builder()
+                    .name("Lunch " + i).amount(amount(i + 1)).date(FIRST_DATE.plusDays((i + 1) % 3))
+                    .profile(profile).category(food).build());
+        }
+        entityManager.flush();
+        entityManager.clear();
+        // Creation timestamps tie the same way, whatever the clock did while inserting
+        for (String table : List.of("tbl_incomes", "tbl_expenses")) {
+            for (Long id : jdbcTemplate.queryForList("SELECT id FROM " + table, Long.class)) {
+                jdbcTemplate.update("UPDATE " + table + " SET created_at = ? WHERE id = ?",
+                        FIRST_DATE.atTime(9, (int) (id % 4)), id);
+            }
+        }
+        when(profileService.getCurrentProfileId()).thenReturn(profile.getId());
+    }
+
+    @ParameterizedTest
+    @MethodSource("mergeableSorts")
+    void pagesAddUpToTheUnpagedMerge(TransactionSortField sortField, Sort.Direction direction) {
+        List<String> unpaged = keys(transactionService.filterTransactions(filter(), sortField, direction));
+        assertThat(unpaged).hasSize(2 * ROWS_PER_TABLE).doesNotHaveDuplicates();
+
+        for (int pageSize = 1; pageSize <= unpaged.size() + 1; pageSize++) {
+            assertThat(walkPages(sortField, direction, pageSize))
+                    .as("%s %s, page size %d", sortField, direction, pageSize)
+                    .containsExactlyElementsOf(unpaged);
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("mergeableSorts")
+    void equalValuesOrderByTypeThenId(TransactionSortField sortField, Sort.Direction direction) {
+        List<TransactionDTO> rows = transactionService.filterTransactions(filter(), sortField, direction);
+
+        assertThat(rows).extracting(TransactionDTO::getType).contains(RollupService.INCOME, RollupService.EXPENSE);
+        for (int i = 1; i < rows.size(); i++) {
+            TransactionDTO previous = rows.get(i - 1);
+            TransactionDTO row = rows.get(i);
+            int byValue = compare(sortKey(previous, sortField), sortKey(row, sortField));
+            int byType = previous.getType().compareTo(row.getType());
+            int byId = previous.getId().compareTo(row.getId());
+            int order = byValue != 0 ? byValue : byType != 0 ? byType : byId;
+            assertThat(direction.isAscending() ? order : -order).as("row %d of %s %s", i, sortField, direction)
+                    .isNegative();
+        }
+    }
+
+    // The export reads one cursor per table and merges while writing; it must match the in-memory merge
+    @ParameterizedTest
+    @MethodSource("mergeableSorts")
+    void exportWritesTheUnpagedMerge(TransactionSortField sortField, Sort.Direction direction) throws IOException {
+        List<String> unpaged = keys(transactionService.filterTransactions(filter(), sortField, direction));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        transactionService.writeFilteredTransactions(filter(), Sort.by(direction, sortField.getProperty(), "id"),
+                ExportFormat.CSV, out);
+
+        List<List<String>> lines = new ArrayList<>();
+        new CsvReader(new ByteArrayInputStream(out.toByteArray())).read((fields, row) -> lines.add(fields));
+        assertThat(lines.getFirst()).startsWith("id").endsWith("type");
+        assertThat(lines.subList(1, lines.size()))
+                .extracting(fields -> fields.getLast() + "#" + fields.getFirst())
+                .containsExactlyElementsOf(unpaged);
+    }
+
+    //helper methods
+    private List<String> walkPages(TransactionSortField sortField, Sort.Direction direction, int pageSize) {
+        List<String> seen = new ArrayList<>();
+        String cursor = null;
+        for (int page = 0; page <= 2 * ROWS_PER_TABLE; page++) {
+            CursorPageDTO<TransactionDTO> result = transactionService.filterTransactionsPage(filter(), sortField,
+                    direction, pageSize, cursor);
+            assertThat(result.getItems().size()).isLessThanOrEqualTo(pageSize);
+            seen.addAll(keys(result.getItems()));
+            if (!result.isHasMore()) {
+                return seen;
+            }
+            cursor = result.getNextCursor();
+        }
+        throw new AssertionError("Paging did not finish: " + seen);
+    }
+
+    private List<String> keys(List<TransactionDTO> rows) {
+        return rows.stream().map(row -> row.getType() + "#" + row.getId()).toList();
+    }
+
+    private TransactionFilter filter() {
+        return TransactionFilter.builder().startDate(FIRST_DATE).endDate(FIRST_DATE.plusMonths(1)).build();
+    }
+
+    private static BigDecimal amount(int i) {
+        return switch (i % 3) {
+            case 0 -> null;
+            case 1 -> new BigDecimal("10.00");
+            default -> new BigDecimal("25.50");
+        };
+    }
+
+    private static Comparable<?> sortKey(TransactionDTO row, TransactionSortField sortField) {
+        return switch (sortField) {
+            case DATE -> row.getDate();
+            case AMOUNT -> row.getAmount() != null ? row.getAmount() : BigDecimal.ZERO;
+            case CREATED_AT -> row.getCreatedAt();
+            case NAME -> row.getName();
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private static int compare(Comparable<?> a, Comparable<?> b) {
+        return ((Comparable<Object>) a).compareTo(b);
+    }
+}
@@ -0,0 +1,101 @@
+package in.finance.moneymanager.support;
+
+import in.finance.moneymanager.dto.ExpenseDTO;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+
+// Measures one export run: throughput, bytes written and peak heap. Heap is read from the memory pools'
+// peak usage, reset after a GC before the run, so it is the high-water mark of the run itself.
+// Benchmarks are tagged "benchmark" and only run with the benchmark profile: mvn test -Pbenchmark
+public final class Benchmark {
+
+    public static final String TAG = "benchmark";
+
+    private static final long MB = 1024 * 1024;
+
+    private Benchmark() {
+    }
+
+    public interface Export {
+        void writeTo(OutputStream out) throws IOException;
+    }
+
+    public record Result(String label, long rows, long bytes, long nanos, long peakHeapBytes, long baselineHeapBytes) {
+
+        public double rowsPerSecond() {
+            return rows * 1_000_000_000d / nanos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%-8s %,10d rows  %,10.0f rows/s  %,8.1f MB out  peak heap %,6d MB (+%,d MB)",
+                    label, rows, rowsPerSecond(), bytes / (double) MB, peakHeapBytes / MB,
+                    Math.max(0, peakHeapBytes - baselineHeapBytes) / MB);
+        }
+    }
+
+    // Runs the export into a byte counter and prints the result
+    public static Result run(String label, long rows, Export export) throws IOException {
+        List<MemoryPoolMXBean> heapPools = ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(pool -> pool.getType() == MemoryType.HEAP)
+                .toList();
+        System.gc();
+        long baseline = heapPools.stream().mapToLong(pool -> pool.getUsage().getUsed()).sum();
+        heapPools.forEach(MemoryPoolMXBean::resetPeakUsage);
+
+        CountingOutputStream out = new CountingOutputStream();
+        long start = System.nanoTime();
+        export.writeTo(out);
+        long nanos = System.nanoTime() - start;
+
+        long peak = heapPools.stream().mapToLong(pool -> pool.getPeakUsage().getUsed()).sum();
+        Result result = new Result(label, rows, out.count, nanos, peak, baseline);
+        System.out.println(result);
+        return result;
+    }
+
+    // Pushes rows generated on the fly, so the source itself holds no rows in memory
+    public static Consumer<Consumer<ExpenseDTO>> expenses(long rows) {
+        LocalDate firstDate = LocalDate.of(2026, 1, 1);
+        LocalDateTime createdAt = LocalDateTime.of(2026, 1, 1, 9, 0);
+        return sink -> {
+            for (long i = 1; i <= rows; i++) {
+                sink.accept(ExpenseDTO.builder()
+                        .id(i)
+                        .name("Expense " + i)
+                        .icon("icon-" + (i % 10))
+                        .categoryId(i % 20)
+                        .categoryName("Category " + (i % 20))
+                        .amount(BigDecimal.valueOf(i % 100_000, 2))
+                        .date(firstDate.plusDays(i % 365))
+                        .createdAt(createdAt)
+                        .updatedAt(createdAt)
+                        .build());
+            }
+        };
+    }
+
+    private static final class CountingOutputStream extends OutputStream {
+
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
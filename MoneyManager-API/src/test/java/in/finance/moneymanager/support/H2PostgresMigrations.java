@@ -0,0 +1,52 @@
+package in.finance.moneymanager.support;
+
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.test.context.DynamicPropertyRegistry;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+// The PostgreSQL migrations, copied for H2 in PostgreSQL mode. Scripts that need PostgreSQL extensions
+// (the pg_trgm GIN indexes) become a no-op with the same version, so every version still applies in order.
+public final class H2PostgresMigrations {
+
+    private static final String SOURCE = "classpath:db/migration/postgresql/*.sql";
+    private static final Path LOCATION = copy();
+
+    private H2PostgresMigrations() {
+    }
+
+    // Point Flyway at the copy; call from a @DynamicPropertySource method
+    public static void register(DynamicPropertyRegistry registry) {
+        registry.add("spring.flyway.locations", () -> "filesystem:" + LOCATION);
+    }
+
+    private static Path copy() {
+        try {
+            Path directory = Files.createTempDirectory("moneymanager-migrations-");
+            for (Resource script : new PathMatchingResourcePatternResolver().getResources(SOURCE)) {
+                String sql;
+                try (InputStream in = script.getInputStream()) {
+                    sql = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+                }
+                if (needsPostgres(sql)) {
+                    sql = "-- PostgreSQL only, skipped on H2\nSELECT 1;\n";
+                }
+                Files.writeString(directory.resolve(script.getFilename()), sql);
+            }
+            return directory;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static boolean needsPostgres(String sql) {
+        String lower = sql.toLowerCase();
+        return lower.contains("create extension") || lower.contains("using gin");
+    }
+}
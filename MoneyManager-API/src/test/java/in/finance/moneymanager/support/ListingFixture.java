@@ -0,0 +1,68 @@
+package in.finance.moneymanager.support;
+
+import in.finance.moneymanager.dto.TransactionRow;
+import in.finance.moneymanager.entity.CategoryEntity;
+import in.finance.moneymanager.entity.ExpenseEntity;
+import in.finance.moneymanager.entity.IncomeEntity;
+import in.finance.moneymanager.entity.ProfileEntity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.concurrent.Callable;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// A month of incomes and expenses for one profile, spread over a few categories per type, for the tests
+// that count the statements a listing runs. Category is LAZY on both entities, so a listing that maps rows
+// without fetching it runs one extra select per category. Needs hibernate.generate_statistics=true.
+public final class ListingFixture {
+
+    public static final int CATEGORIES = 4;
+    public static final int ROWS = 40;
+
+    private ListingFixture() {
+    }
+
+    // Persists in the caller's transaction and returns the profile id
+    public static Long seed(EntityManager entityManager, String email, LocalDate month) {
+        ProfileEntity profile = ProfileEntity.builder().fullName("User").email(email).isActive(true).build();
+        entityManager.persist(profile);
+        for (String type : new String[]{"income", "expense"}) {
+            CategoryEntity[] categories = new CategoryEntity[CATEGORIES];
+            for (int c = 0; c < CATEGORIES; c++) {
+                categories[c] = CategoryEntity.builder().name("Category " + type + " " + c).type(type).profile(profile).build();
+                entityManager.persist(categories[c]);
+            }
+            for (int i = 0; i < ROWS; i++) {
+                LocalDate date = month.withDayOfMonth(1 + i % month.lengthOfMonth());
+                BigDecimal amount = BigDecimal.valueOf(10 + i);
+                entityManager.persist(type.equals("income")
+                        ? IncomeEntity.builder().name("Pay " + i).amount(amount).date(date)
+                                .profile(profile).category(categories[i % CATEGORIES]).build()
+                        : ExpenseEntity.builder().name("Lunch " + i).amount(amount).date(date)
+                                .profile(profile).category(categories[i % CATEGORIES]).build());
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        return profile.getId();
+    }
+
+    // Runs the listing and checks it prepared exactly one statement
+    public static <T> T inOneStatement(EntityManagerFactory entityManagerFactory, Callable<T> listing) throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        T result = listing.call();
+        assertThat(statistics.getPrepareStatementCount()).as("statements prepared").isEqualTo(1);
+        return result;
+    }
+
+    public static void hasCategory(TransactionRow row) {
+        assertThat(row.getCategoryId()).isNotNull();
+        assertThat(row.getCategoryName()).startsWith("Category ");
+    }
+}
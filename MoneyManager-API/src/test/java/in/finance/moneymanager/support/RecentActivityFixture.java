@@ -0,0 +1,94 @@
+package in.finance.moneymanager.support;
+
+import in.finance.moneymanager.dto.RecentTransactionDTO;
+import in.finance.moneymanager.entity.CategoryEntity;
+import in.finance.moneymanager.entity.ProfileEntity;
+import in.finance.moneymanager.repository.DashboardRepository;
+import jakarta.persistence.EntityManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+// Incomes and expenses for the recent activity feed, written with explicit ids so both tables hold the same
+// ids: rows tie on (date, createdAt, id) across the two branches and only the type tells them apart.
+// Another profile's rows are mixed in to check the feed stays per profile.
+public final class RecentActivityFixture {
+
+    public static final int ROWS = 6;
+
+    private static final long FIRST_ID = 900_001;
+    private static final LocalDate DATE = LocalDate.of(2026, 3, 1);
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2026, 3, 1, 9, 0, 0, 123_456_000);
+
+    // Newest first on (date, createdAt, id, type), as both feed queries order
+    private static final Comparator<RecentTransactionDTO> FEED_ORDER = Comparator
+            .comparing(RecentTransactionDTO::getDate)
+            .thenComparing(RecentTransactionDTO::getCreatedAt)
+            .thenComparing(RecentTransactionDTO::getId)
+            .thenComparing(RecentTransactionDTO::getType)
+            .reversed();
+
+    private RecentActivityFixture() {
+    }
+
+    // Persists in the caller's transaction and returns the profile's rows in feed order
+    public static List<RecentTransactionDTO> seed(EntityManager entityManager, JdbcTemplate jdbcTemplate) {
+        List<RecentTransactionDTO> rows = insert(entityManager, jdbcTemplate, "feed@example.com", FIRST_ID);
+        insert(entityManager, jdbcTemplate, "other-feed@example.com", FIRST_ID + ROWS);
+        return rows.stream().sorted(FEED_ORDER).toList();
+    }
+
+    // Follows the cursor the way DashboardService does, from the last row of each page
+    public static List<RecentTransactionDTO> pageThrough(DashboardRepository dashboardRepository,
+                                                         Long profileId, int pageSize) {
+        List<RecentTransactionDTO> feed = new ArrayList<>();
+        List<RecentTransactionDTO> page = dashboardRepository.findRecentTransactions(profileId, pageSize);
+        while (true) {
+            feed.addAll(page);
+            if (page.size() < pageSize || feed.size() > 2 * ROWS) {
+                return feed;
+            }
+            RecentTransactionDTO last = page.getLast();
+            page = dashboardRepository.findRecentTransactionsAfter(profileId,
+                    last.getDate(), last.getCreatedAt(), last.getId(), last.getType(), pageSize);
+        }
+    }
+
+    //helper methods
+    // Two dates, two creation times per date and ids shared by both tables, so every tie-breaker is needed
+    private static List<RecentTransactionDTO> insert(EntityManager entityManager, JdbcTemplate jdbcTemplate,
+                                                     String email, long firstId) {
+        ProfileEntity profile = ProfileEntity.builder().fullName("User").email(email).isActive(true).build();
+        entityManager.persist(profile);
+        List<RecentTransactionDTO> rows = new ArrayList<>();
+        for (String type : new String[]{"income", "expense"}) {
+            CategoryEntity category = CategoryEntity.builder().name("Feed " + type).type(type).profile(profile).build();
+            entityManager.persist(category);
+            entityManager.flush();
+            for (int i = 0; i < ROWS; i++) {
+                RecentTransactionDTO row = RecentTransactionDTO.builder()
+                        .id(firstId + i)
+                        .profileId(profile.getId())
+                        .icon("icon-" + i)
+                        .name(type + " " + i)
+                        .amount(new BigDecimal(type.equals("income") ? "100.50" : "20.25").add(BigDecimal.valueOf(i)))
+                        .date(DATE.minusDays(i % 2))
+                        .createdAt(CREATED_AT.plusHours(i % 3 == 0 ? 1 : 0))
+                        .updatedAt(CREATED_AT.plusDays(1))
+                        .type(type)
+                        .build();
+                jdbcTemplate.update("INSERT INTO tbl_" + type + "s (id, name, icon, date, amount, category_id,"
+                                + " profile_id, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                        row.getId(), row.getName(), row.getIcon(), row.getDate(), row.getAmount(),
+                        category.getId(), row.getProfileId(), row.getCreatedAt(), row.getUpdatedAt());
+                rows.add(row);
+            }
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,69 @@
+package in.finance.moneymanager.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CsvReaderTest {
+
+    @Test
+    void quotedFieldsKeepCommasQuotesAndLineBreaks() throws IOException {
+        Map<Integer, List<String>> records = read("name,note\r\n\"Lunch, dinner\",\"say \"\"hi\"\"\"\r\n\"two\nlines\",x\r\n");
+
+        assertThat(records).containsExactly(
+                Map.entry(1, List.of("name", "note")),
+                Map.entry(2, List.of("Lunch, dinner", "say \"hi\"")),
+                Map.entry(3, List.of("two\nlines", "x")));
+    }
+
+    @Test
+    void byteOrderMarkIsNotPartOfTheFirstField() throws IOException {
+        Map<Integer, List<String>> records = read("\uFEFFname,amount\n");
+
+        assertThat(records).containsExactly(Map.entry(1, List.of("name", "amount")));
+    }
+
+    @Test
+    void crLfLfAndCrAllEndRecords() throws IOException {
+        Map<Integer, List<String>> records = read("a,b\r\nc,d\ne,f\rg,h");
+
+        assertThat(records).containsExactly(
+                Map.entry(1, List.of("a", "b")),
+                Map.entry(2, List.of("c", "d")),
+                Map.entry(3, List.of("e", "f")),
+                Map.entry(4, List.of("g", "h")));
+    }
+
+    @Test
+    void emptyFieldsAreKept() throws IOException {
+        Map<Integer, List<String>> records = read(",a,,\"\"\n");
+
+        assertThat(records).containsExactly(Map.entry(1, List.of("", "a", "", "")));
+    }
+
+    @Test
+    void blankLinesAreSkippedButCounted() throws IOException {
+        Map<Integer, List<String>> records = read("name\r\n\r\nLunch\r\n\r\n\r\nDinner\r\n");
+
+        assertThat(records).containsExactly(
+                Map.entry(1, List.of("name")),
+                Map.entry(3, List.of("Lunch")),
+                Map.entry(6, List.of("Dinner")));
+    }
+
+    //helper methods
+    private Map<Integer, List<String>> read(String csv) throws IOException {
+        Map<Integer, List<String>> records = new TreeMap<>();
+        new CsvReader(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)))
+                .read((fields, row) -> records.put(row, new ArrayList<>(fields)));
+        return records;
+    }
+}
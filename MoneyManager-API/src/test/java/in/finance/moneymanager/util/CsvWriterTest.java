@@ -0,0 +1,67 @@
+package in.finance.moneymanager.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CsvWriterTest {
+
+    @Test
+    void textThatWouldRunAsFormulaIsWrittenAsText() throws IOException {
+        String csv = write("=HYPERLINK(\"http://example.com\")", "+1", "-2", "@SUM(A1)", "Lunch");
+
+        assertThat(csv).isEqualTo("\"'=HYPERLINK(\"\"http://example.com\"\")\",'+1,'-2,'@SUM(A1),Lunch\r\n");
+    }
+
+    @Test
+    void numbersAndDatesAreWrittenAsIs() throws IOException {
+        String csv = write(new BigDecimal("-12.50"), -3L, LocalDate.of(2026, 1, 2), null);
+
+        assertThat(csv).isEqualTo("-12.50,-3,2026-01-02,\r\n");
+    }
+
+    @Test
+    void textStartingWithApostropheBeforeFormulaGetsAnotherOne() throws IOException {
+        String csv = write("'=x", "''+1", "'quoted", "'");
+
+        assertThat(csv).isEqualTo("''=x,'''+1,'quoted,'\r\n");
+    }
+
+    @Test
+    void readerRestoresEscapedText() throws IOException {
+        List<String> texts = List.of("=1+1", "-", "'=x", "''@y", "'-", "'quoted", "'", "''", "Lunch, dinner",
+                "-Refund", "\tTab", "say \"hi\"");
+
+        assertThat(roundTrip(texts)).isEqualTo(texts);
+    }
+
+    //helper methods
+    private List<String> roundTrip(List<String> texts) throws IOException {
+        String csv = write(texts.toArray());
+        List<List<String>> records = new ArrayList<>();
+        new CsvReader(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)))
+                .read((fields, row) -> records.add(fields.stream().map(SpreadsheetText::unescape).toList()));
+        assertThat(records).hasSize(1);
+        return records.getFirst();
+    }
+
+    private String write(Object... fields) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (CsvWriter writer = new CsvWriter(out)) {
+            for (Object field : fields) {
+                writer.field(field);
+            }
+            writer.endRow();
+        }
+        return out.toString(StandardCharsets.UTF_8);
+    }
+}